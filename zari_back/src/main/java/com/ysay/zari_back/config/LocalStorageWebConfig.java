@@ -0,0 +1,29 @@
+package com.ysay.zari_back.config;
+
+import com.ysay.zari_back.service.LocalObjectStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// 로컬 저장소를 쓸 때 업로드된 파일을 직접 내려준다
+@Configuration
+@ConditionalOnProperty(name = "zari.storage.type", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalStorageWebConfig implements WebMvcConfigurer {
+
+    private final LocalObjectStorage localObjectStorage;
+
+    @Value("${zari.storage.local.base-url:/files}")
+    private String baseUrl;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        String prefix = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        String location = localObjectStorage.getRoot().toUri().toString();
+        registry.addResourceHandler(prefix + "**")
+                .addResourceLocations(location.endsWith("/") ? location : location + "/");
+    }
+}
@@ -0,0 +1,56 @@
+package com.ysay.zari_back.config;
+
+import com.ysay.zari_back.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+// Authorization: Bearer 토큰을 검증해 요청마다 인증 정보를 채운다. 세션도 DB 조회도 없다.
+// SockJS 의 HTTP 전송(xhr, eventsource 등)은 헤더를 못 붙이므로 그 경로에서만 ?token= 을 받는다.
+// 토큰이 없거나 틀리면 그냥 익명으로 넘기고, 막을지는 SecurityConfig 의 규칙이 정한다.
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+    private static final String TOKEN_PARAM = "token";
+
+    private final TokenService tokenService;
+
+    public TokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TokenService.Claims claims = tokenService.verify(resolveToken(request));
+        if (claims != null) {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    String.valueOf(claims.userId()), claims, List.of(new SimpleGrantedAuthority("ROLE_" + claims.role().name())));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+        chain.doFilter(request, response);
+    }
+
+    // getParameter 는 jsonp_send 의 폼 본문까지 읽어 버리므로 쿼리 문자열만 본다
+    private static String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            return header.substring(BEARER.length());
+        }
+        if (request.getQueryString() == null || !WebSocketConfig.isSockJsTransport(request.getRequestURI())) {
+            return null;
+        }
+        return UriComponentsBuilder.newInstance().query(request.getQueryString()).build()
+                .getQueryParams().getFirst(TOKEN_PARAM);
+    }
+}
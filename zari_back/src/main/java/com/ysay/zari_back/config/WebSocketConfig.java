@@ -1,20 +1,58 @@
 package com.ysay.zari_back.config;
 
 import com.ysay.zari_back.principal.WebSocketHandshakeHandler;
+import com.ysay.zari_back.service.TokenService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.regex.Pattern;
+
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // 다른 노드에서 구독 중인 사용자에게 가야 할 /user 메시지와 사용자 목록을 브로커로 공유하는 토픽
+    public static final String USER_DESTINATION_BROADCAST = "/topic/unresolved-user-destination";
+    public static final String USER_REGISTRY_BROADCAST = "/topic/simp-user-registry";
+
+    public static final String ENDPOINT = "/ws";
+    // SockJS 전송 요청: {endpoint}/{server-id}/{session-id}/{transport}
+    private static final Pattern SOCKJS_TRANSPORT = Pattern.compile(
+            ".*" + ENDPOINT + "/[^/.]+/[^/.]+/(websocket|xhr|xhr_send|xhr_streaming|eventsource|htmlfile|jsonp|jsonp_send)");
+
+    private final TokenService tokenService;
+
+    // simple: 단일 JVM 메모리 브로커(개발용), relay: 외부 STOMP 브로커(RabbitMQ, Artemis 등)로 중계
+    @Value("${zari.broker.type:simple}")
+    private String brokerType;
+
+    @Value("${zari.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${zari.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${zari.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${zari.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${zari.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    public WebSocketConfig(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
-        registry.addEndpoint("/ws")
-                .setHandshakeHandler(new WebSocketHandshakeHandler()) // 👈 요거!
+        registry.addEndpoint(ENDPOINT)
+                .setHandshakeHandler(new WebSocketHandshakeHandler(tokenService)) // 👈 요거!
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
@@ -22,7 +60,31 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/app");
-        registry.enableSimpleBroker("/topic", "/queue");
+        if ("relay".equalsIgnoreCase(brokerType)) {
+            // 어느 노드에 붙은 사용자든 알림·좌석 변경을 받도록 구독과 발행을 모두 외부 브로커에 맡긴다.
+            // 브로커가 나눠 주는 건 메시지뿐이다. 좌석 상태와 변경분 seq(SeatStateService), 예약 홀드(ReservationService)는
+            // 노드 메모리에 있으므로 한 매장의 카메라 프레임과 예약 요청은 항상 같은 노드로 보내야 한다 (매장 ID 로 라우팅)
+            registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setVirtualHost(relayVirtualHost.isEmpty() ? null : relayVirtualHost)
+                    .setUserDestinationBroadcast(USER_DESTINATION_BROADCAST)
+                    .setUserRegistryBroadcast(USER_REGISTRY_BROADCAST);
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue");
+        }
         registry.setUserDestinationPrefix("/user");
+        // 좌석 변경분은 seq 순서가 깨지면 안 되므로 세션별 발행 순서를 보장한다
+        registry.setPreservePublishOrder(true);
+    }
+
+    // 브라우저 SockJS 는 이 요청들에 Authorization 헤더를 못 붙이므로 여기서만 ?token= 을 받는다.
+    // 다른 URL 에는 토큰이 실리지 않게 해서 접근 로그에 남는 범위를 줄인다
+    public static boolean isSockJsTransport(String path) {
+        return path != null && SOCKJS_TRANSPORT.matcher(path).matches();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.ysay.zari_back.controller;
+
+import com.ysay.zari_back.dto.ConnectionStatsDto;
+import com.ysay.zari_back.service.ConnectionRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// 이 노드의 WebSocket 연결 현황
+@RestController
+@RequestMapping("/api/connections")
+@RequiredArgsConstructor
+public class ConnectionController {
+
+    private final ConnectionRegistry connectionRegistry;
+
+    @GetMapping("/stats")
+    public ResponseEntity<ConnectionStatsDto> getStats() {
+        return ResponseEntity.ok(connectionRegistry.getStats());
+    }
+
+    @GetMapping("/stores/{storeId}")
+    public ResponseEntity<Map<String, Integer>> getStoreSubscribers(@PathVariable Long storeId) {
+        return ResponseEntity.ok(Map.of("subscribers", connectionRegistry.storeSubscriberCount(storeId)));
+    }
+}
@@ -1,21 +1,68 @@
 package com.ysay.zari_back.controller;
 
 import com.ysay.zari_back.dto.DetectionDto;
+import com.ysay.zari_back.dto.DetectionFrame;
+import com.ysay.zari_back.dto.DetectionIngestStatsDto;
+import com.ysay.zari_back.service.DetectionDecoder;
+import com.ysay.zari_back.service.DetectionFramePool;
+import com.ysay.zari_back.service.DetectionIngestService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api")
+@RequiredArgsConstructor
 public class DetectionController {
 
-    @PostMapping("/detections")
-    public ResponseEntity<Void> receive(@RequestBody List<DetectionDto> detections) {
-        detections.forEach(System.out::println);
-        return ResponseEntity.ok().build();
+    private final DetectionIngestService detectionIngestService;
+    private final DetectionDecoder detectionDecoder;
+    private final DetectionFramePool framePool;
+
+    @PostMapping(value = "/detections", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> receive(@RequestParam Long storeId,
+                                        @RequestParam(defaultValue = "0") int cameraId,
+                                        @RequestBody List<DetectionDto> detections) {
+        return enqueue(detectionDecoder.fromJson(storeId, cameraId, System.currentTimeMillis(), detections));
+    }
+
+    // 매장·카메라 id 와 시각은 바이너리 헤더에 들어 있다. 시각은 수신 시각 근처로 보정한다
+    @PostMapping(value = "/detections", consumes = DetectionDecoder.BINARY_MEDIA_TYPE)
+    public ResponseEntity<Void> receiveBinary(HttpServletRequest request) throws IOException {
+        DetectionFrame frame;
+        try {
+            frame = detectionDecoder.fromBinary(request.getInputStream(), System.currentTimeMillis());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return enqueue(frame);
+    }
+
+    // 이 노드의 수집 큐 현황 (대기 중인 프레임, 누적 수락·거절 건수)
+    @GetMapping("/detections/stats")
+    public ResponseEntity<DetectionIngestStatsDto> getStats() {
+        return ResponseEntity.ok(detectionIngestService.getStats());
+    }
+
+    private ResponseEntity<Void> enqueue(DetectionFrame frame) {
+        if (!detectionIngestService.offer(frame)) {
+            framePool.release(frame);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+        return ResponseEntity.accepted().build();
     }
 }
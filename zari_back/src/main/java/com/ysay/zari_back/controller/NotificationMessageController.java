@@ -0,0 +1,24 @@
+package com.ysay.zari_back.controller;
+
+import com.ysay.zari_back.dto.NotificationAckDto;
+import com.ysay.zari_back.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+
+// 클라이언트는 /user/queue/alert 로 받은 알림마다 seq 헤더를 /app/notifications/ack 로 돌려준다
+@Controller
+@RequiredArgsConstructor
+public class NotificationMessageController {
+
+    private final NotificationService notificationService;
+
+    @MessageMapping("/notifications/ack")
+    public void ack(Principal principal, NotificationAckDto dto) {
+        if (principal != null) {
+            notificationService.ack(principal.getName(), dto.getSeq());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ysay.zari_back.controller;
+
+import com.ysay.zari_back.dto.OccupancyPointDto;
+import com.ysay.zari_back.entity.RollupResolution;
+import com.ysay.zari_back.service.OccupancyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stores")
+@RequiredArgsConstructor
+public class OccupancyController {
+
+    private static final long ONE_DAY = 24 * 60 * 60_000L;
+
+    private final OccupancyService occupancyService;
+
+    // from, to 는 epoch millis. 기본은 최근 24시간
+    @GetMapping("/{storeId}/occupancy")
+    public ResponseEntity<List<OccupancyPointDto>> getOccupancy(@PathVariable Long storeId,
+                                                                @RequestParam(required = false) Long from,
+                                                                @RequestParam(required = false) Long to,
+                                                                @RequestParam(required = false) RollupResolution resolution) {
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - ONE_DAY;
+        return ResponseEntity.ok(occupancyService.getSeries(storeId, start, end, resolution));
+    }
+}
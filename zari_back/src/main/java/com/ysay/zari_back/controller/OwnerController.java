@@ -0,0 +1,30 @@
+package com.ysay.zari_back.controller;
+
+import com.ysay.zari_back.dto.OwnerDashboardDto;
+import com.ysay.zari_back.service.StoreStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/owners")
+@RequiredArgsConstructor
+public class OwnerController {
+
+    private final StoreStatsService storeStatsService;
+
+    // 보유 매장 전체의 현재 점유·오늘 최고 점유·평균 체류·대기 예약. 값은 주기 스냅샷 기준
+    @GetMapping("/{ownerId}/dashboard")
+    public ResponseEntity<OwnerDashboardDto> getDashboard(@PathVariable Long ownerId, Principal principal) {
+        if (!String.valueOf(ownerId).equals(principal.getName())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(storeStatsService.getOwnerDashboard(ownerId));
+    }
+}
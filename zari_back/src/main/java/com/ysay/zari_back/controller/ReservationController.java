@@ -1,22 +1,86 @@
 package com.ysay.zari_back.controller;
 
 import com.ysay.zari_back.dto.MessageDto;
-import com.ysay.zari_back.dto.ReservationMessageDto;
+import com.ysay.zari_back.dto.ReservationDto;
+import com.ysay.zari_back.dto.ReservationRequestDto;
+import com.ysay.zari_back.service.NotificationService;
+import com.ysay.zari_back.service.ReservationService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 public class ReservationController {
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private NotificationService notificationService;
+
+    @Autowired
+    private ReservationService reservationService;
 
     @PostMapping("/api/message/send-to/{userId}")
     public void sendReservationMessage(@PathVariable String userId, @RequestBody MessageDto dto) {
-        messagingTemplate.convertAndSendToUser(userId, "/queue/alert", dto);
+        notificationService.sendToUser(userId, dto);
+    }
+
+    // 좌석이 모자라면 409
+    @PostMapping("/api/stores/{storeId}/reservations")
+    public ResponseEntity<?> hold(@PathVariable Long storeId, @RequestBody ReservationRequestDto dto, Principal principal) {
+        try {
+            return ResponseEntity.ok(reservationService.hold(storeId, userId(principal), dto.getSeats()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/api/reservations/{reservationId}/confirm")
+    public ResponseEntity<?> confirm(@PathVariable String reservationId, Principal principal) {
+        try {
+            return ResponseEntity.ok(reservationService.confirm(reservationId, userId(principal)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/api/reservations/{reservationId}")
+    public ResponseEntity<?> cancel(@PathVariable String reservationId, Principal principal) {
+        try {
+            return ResponseEntity.ok(reservationService.cancel(reservationId, userId(principal)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/api/reservations/{reservationId}")
+    public ResponseEntity<?> getReservation(@PathVariable String reservationId) {
+        try {
+            return ResponseEntity.ok(reservationService.getReservation(reservationId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/api/users/{userId}/reservations")
+    public ResponseEntity<List<ReservationDto>> getUserReservations(@PathVariable Long userId, Principal principal) {
+        if (!userId.equals(userId(principal))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(reservationService.getUserReservations(userId));
+    }
+
+    // TokenAuthenticationFilter 가 principal 이름을 userId 로 채운다
+    private static Long userId(Principal principal) {
+        return Long.valueOf(principal.getName());
     }
 }
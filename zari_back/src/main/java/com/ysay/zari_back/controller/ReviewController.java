@@ -0,0 +1,48 @@
+package com.ysay.zari_back.controller;
+
+import com.ysay.zari_back.dto.ReviewCreateDto;
+import com.ysay.zari_back.dto.ReviewDto;
+import com.ysay.zari_back.service.ReviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/stores/{storeId}/reviews")
+@RequiredArgsConstructor
+public class ReviewController {
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ReviewService reviewService;
+
+    // 작성자는 토큰에서 정한다
+    @PostMapping
+    public ResponseEntity<?> createReview(@PathVariable Long storeId,
+                                          @RequestBody ReviewCreateDto dto,
+                                          Principal principal) {
+        try {
+            return ResponseEntity.ok(reviewService.createReview(storeId, Long.valueOf(principal.getName()), dto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 최신순. 다음 페이지가 있으면 마지막 reviewId 를 X-Next-Cursor 헤더로 내려준다
+    @GetMapping
+    public ResponseEntity<List<ReviewDto>> getReviews(@PathVariable Long storeId,
+                                                      @RequestParam(required = false) Long cursor,
+                                                      @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.min(Math.max(size, 1), 100);
+        List<ReviewDto> reviews = reviewService.getReviews(storeId, cursor, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (reviews.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(reviews.get(reviews.size() - 1).getReviewId()));
+        }
+        return response.body(reviews);
+    }
+}
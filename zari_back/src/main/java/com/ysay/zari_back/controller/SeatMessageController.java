@@ -0,0 +1,23 @@
+package com.ysay.zari_back.controller;
+
+import com.ysay.zari_back.dto.SeatSnapshotDto;
+import com.ysay.zari_back.service.SeatStateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+// 클라이언트는 /topic/stores/{storeId}/seats 를 먼저 구독한 뒤
+// /app/stores/{storeId}/seats 를 구독해서 스냅샷을 한 번 받는다.
+// 이후에는 스냅샷 seq 보다 큰 변경분만 적용하면 된다.
+@Controller
+@RequiredArgsConstructor
+public class SeatMessageController {
+
+    private final SeatStateService seatStateService;
+
+    @SubscribeMapping("/stores/{storeId}/seats")
+    public SeatSnapshotDto snapshot(@DestinationVariable Long storeId) {
+        return seatStateService.getSnapshot(storeId);
+    }
+}
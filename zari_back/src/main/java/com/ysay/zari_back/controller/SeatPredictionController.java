@@ -0,0 +1,25 @@
+package com.ysay.zari_back.controller;
+
+import com.ysay.zari_back.dto.SeatPredictionDto;
+import com.ysay.zari_back.service.SeatPredictionService;
+import com.ysay.zari_back.service.SeatStateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/stores")
+@RequiredArgsConstructor
+public class SeatPredictionController {
+
+    private final SeatPredictionService seatPredictionService;
+    private final SeatStateService seatStateService;
+
+    @GetMapping("/{storeId}/prediction")
+    public ResponseEntity<SeatPredictionDto> predict(@PathVariable Long storeId,
+                                                     @RequestParam(defaultValue = "15") int minutes) {
+        int horizon = Math.min(Math.max(minutes, 0), 24 * 60);
+        return ResponseEntity.ok(seatPredictionService.predict(storeId, horizon,
+                seatStateService.totalSeats(storeId), seatStateService.freeSeats(storeId)));
+    }
+}
@@ -1,16 +1,31 @@
 package com.ysay.zari_back.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysay.zari_back.dto.CacheStatsDto;
+import com.ysay.zari_back.dto.ImportResultDto;
+import com.ysay.zari_back.dto.SeatStatusDto;
 import com.ysay.zari_back.dto.StoreDetailDto;
+import com.ysay.zari_back.dto.StoreNearbyDto;
 import com.ysay.zari_back.dto.StoreRegisterDto;
+import com.ysay.zari_back.dto.StoreSearchResultDto;
 import com.ysay.zari_back.dto.StoreSimpleDto;
+import com.ysay.zari_back.dto.StoreSnapshotDto;
+import com.ysay.zari_back.entity.StoreCategory;
+import com.ysay.zari_back.service.SeatStateService;
+import com.ysay.zari_back.service.StoreImportService;
 import com.ysay.zari_back.service.StoreService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -18,7 +33,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class StoreController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final StoreService storeService;
+    private final SeatStateService seatStateService;
+    private final StoreImportService storeImportService;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -40,10 +59,59 @@ public class StoreController {
         }
     }
 
+    // 다음 페이지가 있으면 마지막 storeId 를 X-Next-Cursor 헤더로 내려준다
     @GetMapping
-    public ResponseEntity<List<StoreSimpleDto>> getAllStores() {
-        List<StoreSimpleDto> stores = storeService.getAllStores();
-        return ResponseEntity.ok(stores);
+    public ResponseEntity<List<StoreSimpleDto>> getStores(@RequestParam(required = false) Long cursor,
+                                                          @RequestParam(defaultValue = "20") int size,
+                                                          @RequestParam(required = false) StoreCategory category) {
+        int pageSize = Math.min(Math.max(size, 1), 100);
+        List<StoreSimpleDto> stores = storeService.getStores(cursor, pageSize, category);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (stores.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(stores.get(stores.size() - 1).getStoreId()));
+        }
+        return response.body(stores);
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<StoreNearbyDto>> getNearbyStores(@RequestParam double lat,
+                                                                @RequestParam double lng,
+                                                                @RequestParam(defaultValue = "1000") double radius,
+                                                                @RequestParam(required = false) StoreCategory category,
+                                                                @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(storeService.getNearbyStores(lat, lng, radius, category, Math.min(Math.max(limit, 1), 200)));
+    }
+
+    // 매장 이름·메뉴·주소 검색. 이름이 맞을수록, 입력 중인 접두어로 시작할수록 앞에 온다
+    @GetMapping("/search")
+    public ResponseEntity<List<StoreSearchResultDto>> searchStores(@RequestParam String q,
+                                                                   @RequestParam(required = false) StoreCategory category,
+                                                                   @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(storeService.searchStores(q, category, Math.min(Math.max(limit, 1), 100)));
+    }
+
+    // 자동완성. 초성만 입력해도 ("ㅊㅋ") 맞는 이름을 돌려준다
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<String>> suggestStores(@RequestParam String q,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(storeService.suggestStores(q, Math.min(Math.max(limit, 1), 50)));
+    }
+
+    // NDJSON 또는 CSV 를 한 줄씩 읽으며 배치로 저장하고, 실패한 행은 줄 번호와 함께 돌려준다
+    @PostMapping(value = "/import/{userId}", consumes = {StoreImportService.NDJSON, StoreImportService.CSV})
+    public ResponseEntity<?> importStores(@PathVariable Long userId, HttpServletRequest request) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            ImportResultDto result = storeImportService.importStores(userId, request.getContentType(), reader);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("가져오기 실패: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsDto> getDetailCacheStats() {
+        return ResponseEntity.ok(storeService.getDetailCacheStats());
     }
 
     @GetMapping("/{storeId}")
@@ -52,4 +120,22 @@ public class StoreController {
         return ResponseEntity.ok(store);
     }
 
+    // 매장 상세와 좌석 상태를 한 번에 내려준다. If-None-Match 가 맞으면 본문을 만들지 않고 304
+    @GetMapping("/{storeId}/snapshot")
+    public ResponseEntity<StoreSnapshotDto> getStoreSnapshot(@PathVariable Long storeId, WebRequest request) {
+        if (request.checkNotModified(storeService.getSnapshotETag(storeId))) {
+            return null;
+        }
+        StoreSnapshotDto snapshot = storeService.getStoreSnapshot(storeId);
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot);
+    }
+
+    @GetMapping("/{storeId}/seats")
+    public ResponseEntity<SeatStatusDto> getSeatStatus(@PathVariable Long storeId) {
+        return ResponseEntity.ok(seatStateService.getStatus(storeId));
+    }
+
 }
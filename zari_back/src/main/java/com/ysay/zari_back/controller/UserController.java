@@ -1,12 +1,14 @@
 package com.ysay.zari_back.controller;
 
 
+import com.ysay.zari_back.dto.UserIdentityDto;
 import com.ysay.zari_back.dto.UserLoginDto;
 import com.ysay.zari_back.dto.UserSignUpDto;
-import com.ysay.zari_back.entity.User;
+import com.ysay.zari_back.service.TokenService;
 import com.ysay.zari_back.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -21,23 +23,29 @@ public class UserController {
 
 
     private final UserService userService;
+    private final TokenService tokenService;
 
     @PostMapping("/signup")
     public ResponseEntity<String> signup(@RequestBody UserSignUpDto dto) {
-        userService.signup(dto);
-        return ResponseEntity.ok("회원가입 성공");
+        try {
+            userService.signup(dto);
+            return ResponseEntity.ok("회원가입 성공");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody UserLoginDto dto) {
         try {
-            User user = userService.login(dto.getEmail(), dto.getPassword());
+            UserIdentityDto user = userService.login(dto.getEmail(), dto.getPassword());
             return ResponseEntity.ok().body(
                     Map.of(
                             "userId", user.getUserId(),
                             "email", user.getEmail(),
                             "nickname", user.getNickname(),
-                            "role", user.getRole().toString()
+                            "role", user.getRole().toString(),
+                            "token", tokenService.issue(user.getUserId(), user.getRole())
                     )
             );
         } catch (IllegalArgumentException e) {
@@ -45,5 +53,12 @@ public class UserController {
         }
     }
 
+    // 토큰은 서버에 저장하지 않으므로 만료될 때까지만 폐기 목록에 올린다. 모든 노드에 퍼지고, 이 토큰으로 열린 WebSocket 세션도 닫힌다
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(Authentication authentication) {
+        tokenService.revoke((TokenService.Claims) authentication.getCredentials());
+        return ResponseEntity.ok("로그아웃 성공");
+    }
+
 
 }
@@ -0,0 +1,36 @@
+package com.ysay.zari_back.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// 카메라 서버는 bbox를 [x1, y1, x2, y2] 배열로 보낸다
+public class BBox {
+    public int x1;
+    public int y1;
+    public int x2;
+    public int y2;
+
+    public BBox() {
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public BBox(int[] coords) {
+        if (coords == null || coords.length != 4) {
+            throw new IllegalArgumentException("bbox는 [x1, y1, x2, y2] 형식이어야 합니다.");
+        }
+        this.x1 = coords[0];
+        this.y1 = coords[1];
+        this.x2 = coords[2];
+        this.y2 = coords[3];
+    }
+
+    @JsonValue
+    public int[] toArray() {
+        return new int[]{x1, y1, x2, y2};
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d, %d, %d, %d", x1, y1, x2, y2);
+    }
+}
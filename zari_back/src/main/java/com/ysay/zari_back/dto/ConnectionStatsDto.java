@@ -0,0 +1,13 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ConnectionStatsDto {
+    private int connections;
+    private int users;
+    private int watchedStores;
+    private int seatSubscriptions;
+}
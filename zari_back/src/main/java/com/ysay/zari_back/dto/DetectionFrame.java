@@ -0,0 +1,60 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+// 카메라 한 대가 한 번에 올린 탐지 결과.
+// 의자/사람 박스만 [x1, y1, x2, y2] 순서의 기본형 배열로 들고 있으며, 풀에서 재사용된다.
+@Getter
+public class DetectionFrame {
+    private Long storeId;
+    private int cameraId;
+    private long timestamp;
+    private int[] chairs = new int[64];
+    private int chairCount;
+    private int[] persons = new int[64];
+    private int personCount;
+    // 병합기가 window 끝에 수집 큐로 되돌려 보낸 프레임. 다시 병합하지 않고 바로 처리한다
+    private boolean coalesced;
+    // 끊김 감지 타이머가 넣은 빈 프레임. 좌석을 갱신하지 않고 그 카메라의 좌석을 지운다
+    private boolean cameraStale;
+
+    public void reset(Long storeId, int cameraId, long timestamp) {
+        this.storeId = storeId;
+        this.cameraId = cameraId;
+        this.timestamp = timestamp;
+        this.chairCount = 0;
+        this.personCount = 0;
+        this.coalesced = false;
+        this.cameraStale = false;
+    }
+
+    public void markCoalesced() {
+        this.coalesced = true;
+    }
+
+    public void markCameraStale() {
+        this.cameraStale = true;
+    }
+
+    public void addChair(int x1, int y1, int x2, int y2) {
+        chairs = put(chairs, chairCount++, x1, y1, x2, y2);
+    }
+
+    public void addPerson(int x1, int y1, int x2, int y2) {
+        persons = put(persons, personCount++, x1, y1, x2, y2);
+    }
+
+    private static int[] put(int[] boxes, int index, int x1, int y1, int x2, int y2) {
+        int o = index << 2;
+        if (o + 4 > boxes.length) {
+            boxes = Arrays.copyOf(boxes, boxes.length << 1);
+        }
+        boxes[o] = Math.min(x1, x2);
+        boxes[o + 1] = Math.min(y1, y2);
+        boxes[o + 2] = Math.max(x1, x2);
+        boxes[o + 3] = Math.max(y1, y2);
+        return boxes;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class DetectionIngestStatsDto {
+    private int workers;
+    private int queueDepth;
+    private long accepted;
+    private long rejected;
+}
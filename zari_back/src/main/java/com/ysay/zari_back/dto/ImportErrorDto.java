@@ -0,0 +1,11 @@
+package com.ysay.zari_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ImportErrorDto {
+    private long line;
+    private String message;
+}
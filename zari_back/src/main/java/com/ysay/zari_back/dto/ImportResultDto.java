@@ -0,0 +1,15 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class ImportResultDto {
+    private int storesImported;
+    private int menusImported;
+    private int failedRows;
+    private List<ImportErrorDto> errors;
+}
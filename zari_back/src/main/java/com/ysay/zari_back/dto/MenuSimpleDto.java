@@ -12,4 +12,5 @@ public class MenuSimpleDto {
     private String name;
     private int price;
     private String imageUrl;
+    private String thumbnailUrl;
 }
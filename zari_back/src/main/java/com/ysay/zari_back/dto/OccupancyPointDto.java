@@ -0,0 +1,13 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class OccupancyPointDto {
+    private long bucketStart;
+    private double averageOccupied;
+    private int maxOccupied;
+    private double averageSeats;
+}
@@ -0,0 +1,14 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class OwnerDashboardDto {
+    private Long ownerId;
+    private long snapshotAt;
+    private List<StoreDashboardDto> stores;
+}
@@ -0,0 +1,17 @@
+package com.ysay.zari_back.dto;
+
+import com.ysay.zari_back.entity.ReservationStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ReservationDto {
+    private String reservationId;
+    private Long storeId;
+    private Long userId;
+    private int seats;
+    private ReservationStatus status;
+    private long createdAt;
+    private long expiresAt;
+}
@@ -0,0 +1,12 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReservationRequestDto {
+    private int seats;
+}
@@ -0,0 +1,13 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReviewCreateDto {
+    private int rating;
+    private String comment;
+}
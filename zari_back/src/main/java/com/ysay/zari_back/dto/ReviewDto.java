@@ -0,0 +1,19 @@
+package com.ysay.zari_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ReviewDto {
+    private Long reviewId;
+    private int rating;
+    private String comment;
+    private LocalDateTime createdAt;
+    private Long userId;
+    private String nickname;
+}
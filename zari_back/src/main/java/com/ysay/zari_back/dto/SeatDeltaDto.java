@@ -0,0 +1,19 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// /topic/stores/{storeId}/seats 로 나가는 좌석 변경분.
+// seq 는 매장별로 1씩 증가하므로 스냅샷의 seq 이하인 변경분은 버리면 된다.
+@Getter
+@Builder
+public class SeatDeltaDto {
+    private Long storeId;
+    private long seq;
+    private int totalSeats;
+    private int freeSeats;
+    private List<SeatDto> changed;
+    private List<Integer> removed;
+}
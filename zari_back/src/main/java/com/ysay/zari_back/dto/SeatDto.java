@@ -0,0 +1,14 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class SeatDto {
+    private int seatId;
+    private int cameraId;
+    private int x;
+    private int y;
+    private boolean occupied;
+}
@@ -0,0 +1,16 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class SeatPredictionDto {
+    private Long storeId;
+    private int minutes;
+    private int totalSeats;
+    private int currentFreeSeats;
+    private int predictedFreeSeats;
+    // 예측에 쓰인 과거 주 수 (0 이면 현재 상태만으로 추정)
+    private int history;
+}
@@ -0,0 +1,16 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class SeatSnapshotDto {
+    private Long storeId;
+    private long seq;
+    private int totalSeats;
+    private int freeSeats;
+    private List<SeatDto> seats;
+}
@@ -0,0 +1,12 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class SeatStatusDto {
+    private Long storeId;
+    private int totalSeats;
+    private int freeSeats;
+}
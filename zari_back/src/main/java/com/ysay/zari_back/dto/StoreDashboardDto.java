@@ -0,0 +1,11 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class StoreDashboardDto {
+    private StoreSimpleDto store;
+    private StoreStatsDto stats;
+}
@@ -20,5 +20,7 @@ public class StoreDetailDto {
     private double longitude;
     private Long ownerId;
     private String imageUrl;
+    private int reviewCount;
+    private double averageRating;
     private List<MenuSimpleDto> menus;
 }
@@ -0,0 +1,17 @@
+package com.ysay.zari_back.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StoreImportDto extends StoreRegisterDto {
+    private List<MenuRegisterDto> menus = new ArrayList<>();
+}
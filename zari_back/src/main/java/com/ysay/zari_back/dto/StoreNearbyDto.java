@@ -0,0 +1,15 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class StoreNearbyDto {
+    private StoreSimpleDto store;
+    private double latitude;
+    private double longitude;
+    private double distance;
+    // 예약으로 잡힌 좌석을 뺀 빈 좌석 수
+    private int freeSeats;
+}
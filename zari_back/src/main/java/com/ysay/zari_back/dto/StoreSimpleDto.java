@@ -1,11 +1,13 @@
 package com.ysay.zari_back.dto;
 
 import com.ysay.zari_back.entity.StoreCategory;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
 @Builder
+@AllArgsConstructor
 public class StoreSimpleDto {
     private Long storeId;
     private String storeName;
@@ -13,4 +15,6 @@ public class StoreSimpleDto {
     private StoreCategory category;
     private String storeAddress;
     private String imageUrl;
+    private int reviewCount;
+    private double averageRating;
 }
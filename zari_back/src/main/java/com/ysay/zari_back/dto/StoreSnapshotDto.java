@@ -0,0 +1,15 @@
+package com.ysay.zari_back.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class StoreSnapshotDto {
+    private StoreDetailDto store;
+    private SeatSnapshotDto seats;
+
+    @JsonIgnore
+    private String etag;
+}
@@ -0,0 +1,21 @@
+package com.ysay.zari_back.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// 점주 대시보드의 매장 하나. 스냅샷 시점의 값이며 updatedAt 은 마지막 감지 프레임 시각
+@Getter
+@Builder
+public class StoreStatsDto {
+    private Long storeId;
+    private int totalSeats;
+    private int occupiedSeats;
+    private double occupancyRate;
+    private int todayPeakOccupied;
+    private long todayPeakAt;
+    private long todayVisits;
+    private double averageDwellSeconds;
+    private int pendingReservations;
+    private int heldSeats;
+    private long updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.ysay.zari_back.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ysay.zari_back.entity.Role;
+import lombok.Builder;
+import lombok.Getter;
+
+// 로그인에 필요한 만큼만 담은 사용자 정보 (UserIdentityCache 에 들어간다)
+@Getter
+@Builder
+public class UserIdentityDto {
+    private Long userId;
+    private String email;
+    private String nickname;
+    private Role role;
+    @JsonIgnore
+    private String passwordHash;
+}
@@ -21,10 +21,13 @@ public class Menu {
     @Column(nullable = true)
     private String imageUrl;
 
+    @Column(nullable = true)
+    private String thumbnailUrl;
+
     @Column(nullable = false)
     private int price;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "store_id", nullable = false)
     private Store store;
 }
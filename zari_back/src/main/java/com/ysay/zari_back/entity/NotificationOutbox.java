@@ -0,0 +1,35 @@
+package com.ysay.zari_back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 사용자별 알림 보관함. 보낸 알림은 전부 여기 쌓이고, 클라이언트가 ack 한 알림은 하나씩 지워진다.
+// 재접속하면 남아 있는 것을 다시 보낸다.
+@Entity
+@IdClass(NotificationOutboxId.class)
+@Table(indexes = @Index(name = "idx_notification_outbox_expires", columnList = "expiresAt"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+    @Id
+    @Column(length = 64)
+    private String userId;
+
+    @Id
+    private long seq;
+
+    // 직렬화된 JSON
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    // epoch millis
+    @Column(nullable = false)
+    private long createdAt;
+
+    @Column(nullable = false)
+    private long expiresAt;
+}
@@ -0,0 +1,17 @@
+package com.ysay.zari_back.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class NotificationOutboxId implements Serializable {
+    private String userId;
+    private long seq;
+}
@@ -0,0 +1,39 @@
+package com.ysay.zari_back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 매장 좌석 점유 시계열. 분/15분/1시간 버킷마다 한 행이며 닫힌 버킷만 배치로 쌓인다.
+@Entity
+@IdClass(OccupancyRollupId.class)
+@Table(indexes = @Index(name = "idx_occupancy_rollup_resolution_bucket", columnList = "resolution, bucketStart"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OccupancyRollup {
+
+    @Id
+    private Long storeId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private RollupResolution resolution;
+
+    // epoch millis
+    @Id
+    private long bucketStart;
+
+    @Column(nullable = false)
+    private int samples;
+
+    @Column(nullable = false)
+    private long occupiedSum;
+
+    @Column(nullable = false)
+    private int occupiedMax;
+
+    @Column(nullable = false)
+    private long seatSum;
+}
@@ -0,0 +1,18 @@
+package com.ysay.zari_back.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class OccupancyRollupId implements Serializable {
+    private Long storeId;
+    private RollupResolution resolution;
+    private long bucketStart;
+}
@@ -0,0 +1,41 @@
+package com.ysay.zari_back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 좌석 예약(홀드). 키는 홀드를 잡는 순간 메모리에서 만들고 행은 나중에 배치로 쌓이므로 UUID 를 쓴다.
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_reservation_store_status", columnList = "storeId, status"),
+        @Index(name = "idx_reservation_user", columnList = "userId")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Reservation {
+
+    @Id
+    @Column(length = 36)
+    private String reservationId;
+
+    @Column(nullable = false)
+    private Long storeId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private int seats;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ReservationStatus status;
+
+    // epoch millis
+    @Column(nullable = false)
+    private long createdAt;
+
+    @Column(nullable = false)
+    private long expiresAt;
+}
@@ -0,0 +1,8 @@
+package com.ysay.zari_back.entity;
+
+public enum ReservationStatus {
+    HELD,       // 좌석 임시 점유 중 (만료 시각 전)
+    CONFIRMED,  // 손님이 도착해 확정
+    CANCELLED,
+    EXPIRED
+}
@@ -0,0 +1,28 @@
+package com.ysay.zari_back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 로그아웃으로 폐기한 토큰의 jti. 노드마다 주기적으로 읽어 자기 폐기 목록에 합치고, 토큰이 만료되면 지운다.
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revokedAt"),
+        @Index(name = "idx_revoked_token_expires", columnList = "expiresAt")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @Column(length = 64)
+    private String jti;
+
+    // epoch millis
+    @Column(nullable = false)
+    private long expiresAt;
+
+    @Column(nullable = false)
+    private long revokedAt;
+}
@@ -0,0 +1,21 @@
+package com.ysay.zari_back.entity;
+
+public enum RollupResolution {
+    MINUTE(60_000L),
+    QUARTER_HOUR(15 * 60_000L),
+    HOUR(60 * 60_000L);
+
+    private final long millis;
+
+    RollupResolution(long millis) {
+        this.millis = millis;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public long bucketStart(long timestamp) {
+        return timestamp - Math.floorMod(timestamp, millis);
+    }
+}
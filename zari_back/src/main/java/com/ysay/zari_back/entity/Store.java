@@ -2,23 +2,28 @@ package com.ysay.zari_back.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
+// 연관은 모두 지연 로딩. 상세 화면처럼 메뉴까지 필요한 곳만 Store.detail 그래프로 한 번에 읽는다
 @Entity
+@NamedEntityGraph(name = Store.DETAIL_GRAPH, attributeNodes = @NamedAttributeNode("menus"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Store {
-    
+
+    public static final String DETAIL_GRAPH = "Store.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long storeId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User owner;
 
@@ -41,10 +46,22 @@ public class Store {
     @Column(nullable = true)
     private String imageUrl;
 
-    @OneToMany(mappedBy = "store", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Column(nullable = true)
+    private String thumbnailUrl;
+
+    // 리뷰 집계. 리뷰를 쓸 때 같은 트랜잭션에서 원자적으로 더하기만 하고 AVG() 로 다시 세지 않는다
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int reviewCount;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long ratingSum;
+
+    @OneToMany(mappedBy = "store", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Menu> menus = new ArrayList<>();
 
-    @OneToMany(mappedBy = "store", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "store", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Review> reviews = new ArrayList<>();
 
 }
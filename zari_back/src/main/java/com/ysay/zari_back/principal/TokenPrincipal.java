@@ -0,0 +1,12 @@
+package com.ysay.zari_back.principal;
+
+import java.security.Principal;
+
+// WebSocket 세션의 사용자. 토큰이 폐기되면 같은 jti 로 열린 세션을 찾아 닫을 수 있게 jti 를 같이 든다
+public record TokenPrincipal(String name, String jti) implements Principal {
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
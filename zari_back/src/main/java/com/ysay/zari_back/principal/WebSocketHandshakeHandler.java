@@ -1,20 +1,47 @@
 package com.ysay.zari_back.principal;
 
 
+import com.ysay.zari_back.config.WebSocketConfig;
+import com.ysay.zari_back.service.TokenService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.security.Principal;
 import java.util.Map;
 
+// 핸드셰이크 때 토큰으로 사용자를 정한다. SockJS 는 헤더를 못 붙이므로 SockJS 전송 경로에서만 ?token= 도 받는다.
+// 토큰이 없거나 틀리면 익명 연결 (좌석 토픽 구독은 가능, /user 알림은 못 받음)
 public class WebSocketHandshakeHandler extends DefaultHandshakeHandler {
 
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+
+    public WebSocketHandshakeHandler(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
     @Override
     protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
                                       Map<String, Object> attributes) {
-        Principal principal = () -> "3";
-        System.out.println("🧩 WebSocket 연결된 사용자 ID: " + principal.getName());
-        return principal;
+        TokenService.Claims claims = tokenService.verify(resolveToken(request));
+        if (claims == null) {
+            return null;
+        }
+        return new TokenPrincipal(String.valueOf(claims.userId()), claims.jti());
+    }
+
+    private static String resolveToken(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            return header.substring(BEARER.length());
+        }
+        if (!WebSocketConfig.isSockJsTransport(request.getURI().getPath())) {
+            return null;
+        }
+        return UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("token");
     }
 }
@@ -3,9 +3,14 @@ package com.ysay.zari_back.repository;
 import com.ysay.zari_back.entity.Menu;
 import com.ysay.zari_back.entity.Store;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface MenuRepository extends JpaRepository<Menu, Long> {
     List<Menu> findByStore(Store store);
+
+    // 검색 색인용 (storeId, 메뉴 이름)
+    @Query("select m.store.storeId, m.name from Menu m")
+    List<Object[]> findStoreMenuNames();
 }
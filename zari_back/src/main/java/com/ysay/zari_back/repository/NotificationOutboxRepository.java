@@ -0,0 +1,11 @@
+package com.ysay.zari_back.repository;
+
+import com.ysay.zari_back.entity.NotificationOutbox;
+import com.ysay.zari_back.entity.NotificationOutboxId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, NotificationOutboxId> {
+    List<NotificationOutbox> findTop500ByUserIdAndExpiresAtGreaterThanOrderBySeq(String userId, long now);
+}
@@ -0,0 +1,13 @@
+package com.ysay.zari_back.repository;
+
+import com.ysay.zari_back.entity.OccupancyRollup;
+import com.ysay.zari_back.entity.OccupancyRollupId;
+import com.ysay.zari_back.entity.RollupResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface OccupancyRollupRepository extends JpaRepository<OccupancyRollup, OccupancyRollupId> {
+    List<OccupancyRollup> findByStoreIdAndResolutionAndBucketStartBetweenOrderByBucketStart(
+            Long storeId, RollupResolution resolution, long from, long to);
+}
@@ -0,0 +1,10 @@
+package com.ysay.zari_back.repository;
+
+import com.ysay.zari_back.entity.Reservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ReservationRepository extends JpaRepository<Reservation, String> {
+    List<Reservation> findTop50ByUserIdOrderByCreatedAtDesc(Long userId);
+}
@@ -0,0 +1,23 @@
+package com.ysay.zari_back.repository;
+
+import com.ysay.zari_back.dto.ReviewDto;
+import com.ysay.zari_back.entity.Review;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    // 최신순 keyset 페이지. 작성자 닉네임까지 한 번에 읽는다
+    @Query("select new com.ysay.zari_back.dto.ReviewDto(" +
+            "r.reviewId, r.rating, r.comment, r.createdAt, u.userId, u.nickname) " +
+            "from Review r join r.user u " +
+            "where r.store.storeId = :storeId and r.reviewId < :cursor " +
+            "order by r.reviewId desc")
+    List<ReviewDto> findPageByStore(@Param("storeId") Long storeId,
+                                    @Param("cursor") Long cursor,
+                                    Limit limit);
+}
@@ -1,8 +1,57 @@
 package com.ysay.zari_back.repository;
 
+import com.ysay.zari_back.dto.StoreSimpleDto;
 import com.ysay.zari_back.entity.Store;
+import com.ysay.zari_back.entity.StoreCategory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 
 public interface StoreRepository extends JpaRepository<Store, Long> {
-}
\ No newline at end of file
+
+    // 목록에 필요한 컬럼과 owner FK 만 한 번에 읽는다 (storeId 기준 keyset 페이지)
+    // 이미지는 목록용 작은 변형을 쓰고, 변형이 없는 예전 매장은 원래 이미지로 대신한다
+    // 평점은 같은 행의 집계 컬럼으로 계산하므로 추가 조회가 없다
+    @Query("select new com.ysay.zari_back.dto.StoreSimpleDto(" +
+            "s.storeId, s.storeName, s.owner.userId, s.category, s.storeAddress, coalesce(s.thumbnailUrl, s.imageUrl), " +
+            "s.reviewCount, case when s.reviewCount = 0 then 0.0 else s.ratingSum * 1.0 / s.reviewCount end) " +
+            "from Store s " +
+            "where s.storeId > :cursor and (:category is null or s.category = :category) " +
+            "order by s.storeId")
+    List<StoreSimpleDto> findSimplePage(@Param("cursor") Long cursor,
+                                        @Param("category") StoreCategory category,
+                                        Limit limit);
+
+    // 점주 화면용. 점주가 가진 매장 요약을 한 번에 읽는다 (owner 는 FK 만 비교하므로 조인하지 않는다)
+    @Query("select new com.ysay.zari_back.dto.StoreSimpleDto(" +
+            "s.storeId, s.storeName, s.owner.userId, s.category, s.storeAddress, coalesce(s.thumbnailUrl, s.imageUrl), " +
+            "s.reviewCount, case when s.reviewCount = 0 then 0.0 else s.ratingSum * 1.0 / s.reviewCount end) " +
+            "from Store s " +
+            "where s.owner.userId = :ownerId " +
+            "order by s.storeId")
+    List<StoreSimpleDto> findSimpleByOwner(@Param("ownerId") Long ownerId);
+
+    // 상세 화면용. 매장과 메뉴를 조인 한 번으로 읽는다
+    @EntityGraph(Store.DETAIL_GRAPH)
+    Optional<Store> findWithMenusByStoreId(Long storeId);
+
+    // 반환값이 0 이면 없는 매장
+    @Modifying
+    @Query("update Store s set s.reviewCount = s.reviewCount + 1, s.ratingSum = s.ratingSum + :rating " +
+            "where s.storeId = :storeId")
+    int addRating(@Param("storeId") Long storeId, @Param("rating") int rating);
+
+    @Query("select s.reviewCount, s.ratingSum from Store s where s.storeId = :storeId")
+    List<Object[]> findRating(@Param("storeId") Long storeId);
+
+    // 검색 색인용. 엔티티를 올리지 않고 색인할 컬럼만 읽는다
+    @Query("select s.storeId, s.storeName, s.storeAddress from Store s")
+    List<Object[]> findSearchFields();
+}
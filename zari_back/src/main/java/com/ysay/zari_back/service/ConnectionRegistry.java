@@ -0,0 +1,207 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.ConnectionStatsDto;
+import com.ysay.zari_back.principal.TokenPrincipal;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 이 노드의 WebSocket 세션 목록. 사용자 → 세션, 매장 → 좌석 토픽 구독 세션을 들고 있다.
+// STOMP 세션 이벤트로만 갱신하므로 조회는 맵 한 번 읽기다.
+// 토큰(jti) → 세션도 들고 있다가 토큰이 폐기되면 STOMP ERROR 를 보내 그 세션을 닫는다.
+@Service
+public class ConnectionRegistry {
+
+    private static final String SEAT_TOPIC_PREFIX = "/topic/stores/";
+    private static final String SEAT_TOPIC_SUFFIX = "/seats";
+
+    private final SimpUserRegistry simpUserRegistry;
+    private final MessageChannel clientOutboundChannel;
+    private final TokenService tokenService;
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> userSessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> tokenSessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<String>> storeSubscribers = new ConcurrentHashMap<>();
+
+    public ConnectionRegistry(SimpUserRegistry simpUserRegistry,
+                              @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                              TokenService tokenService) {
+        this.simpUserRegistry = simpUserRegistry;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.tokenService = tokenService;
+        tokenService.onRevoked(this::closeTokenSessions);
+    }
+
+    // 이 노드에 없으면 relay 모드에서 다른 노드에 붙어 있는지 SimpUserRegistry 로 한 번 더 본다
+    public boolean isOnline(String userId) {
+        return userSessions.containsKey(userId) || simpUserRegistry.getUser(userId) != null;
+    }
+
+    public int sessionCount(String userId) {
+        Set<String> set = userSessions.get(userId);
+        return set == null ? 0 : set.size();
+    }
+
+    public int storeSubscriberCount(Long storeId) {
+        Set<String> set = storeSubscribers.get(storeId);
+        return set == null ? 0 : set.size();
+    }
+
+    public ConnectionStatsDto getStats() {
+        int subscriptions = 0;
+        for (Set<String> set : storeSubscribers.values()) {
+            subscriptions += set.size();
+        }
+        return ConnectionStatsDto.builder()
+                .connections(sessions.size())
+                .users(userSessions.size())
+                .watchedStores(storeSubscribers.size())
+                .seatSubscriptions(subscriptions)
+                .build();
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        Principal user = event.getUser();
+        String userId = user == null ? null : user.getName();
+        String jti = tokenId(user);
+        sessions.put(sessionId, new Session(userId, jti));
+        if (userId != null) {
+            userSessions.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        }
+        if (jti != null) {
+            tokenSessions.computeIfAbsent(jti, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
+            // 핸드셰이크 검증과 여기 사이에 폐기됐으면 알림을 놓쳤으니 직접 닫는다
+            if (tokenService.isRevoked(jti)) {
+                closeTokenSessions(jti);
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Session session = sessions.remove(event.getSessionId());
+        if (session == null) {
+            return;
+        }
+        if (session.userId != null) {
+            userSessions.computeIfPresent(session.userId, (k, set) -> {
+                set.remove(event.getSessionId());
+                return set.isEmpty() ? null : set;
+            });
+        }
+        if (session.jti != null) {
+            tokenSessions.computeIfPresent(session.jti, (k, set) -> {
+                set.remove(event.getSessionId());
+                return set.isEmpty() ? null : set;
+            });
+        }
+        for (Long storeId : session.subscriptions.values()) {
+            unwatch(storeId, event.getSessionId(), session);
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Long storeId = seatTopicStoreId(accessor.getDestination());
+        Session session = sessions.get(accessor.getSessionId());
+        if (storeId == null || session == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        session.subscriptions.put(accessor.getSubscriptionId(), storeId);
+        storeSubscribers.computeIfAbsent(storeId, k -> ConcurrentHashMap.newKeySet()).add(accessor.getSessionId());
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Session session = sessions.get(accessor.getSessionId());
+        if (session == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Long storeId = session.subscriptions.remove(accessor.getSubscriptionId());
+        if (storeId != null) {
+            unwatch(storeId, accessor.getSessionId(), session);
+        }
+    }
+
+    // 같은 세션이 같은 매장을 여러 번 구독했을 수 있으니 마지막 구독이 빠질 때만 지운다
+    private void unwatch(Long storeId, String sessionId, Session session) {
+        if (session.subscriptions.containsValue(storeId) && sessions.containsKey(sessionId)) {
+            return;
+        }
+        storeSubscribers.computeIfPresent(storeId, (k, set) -> {
+            set.remove(sessionId);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // StompSubProtocolHandler 는 ERROR 프레임을 보낸 뒤 세션을 닫는다. 닫히면 onDisconnect 가 나머지를 정리한다
+    private void closeTokenSessions(String jti) {
+        Set<String> sessionIds = tokenSessions.remove(jti);
+        if (sessionIds == null) {
+            return;
+        }
+        for (String sessionId : sessionIds) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.ERROR);
+            accessor.setMessage("로그아웃된 토큰입니다.");
+            accessor.setSessionId(sessionId);
+            clientOutboundChannel.send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        }
+    }
+
+    // 네이티브 WebSocket 은 핸드셰이크의 TokenPrincipal, SockJS HTTP 전송은 TokenAuthenticationFilter 의 인증이 온다
+    private static String tokenId(Principal user) {
+        if (user instanceof TokenPrincipal principal) {
+            return principal.jti();
+        }
+        if (user instanceof Authentication authentication
+                && authentication.getCredentials() instanceof TokenService.Claims claims) {
+            return claims.jti();
+        }
+        return null;
+    }
+
+    private static Long seatTopicStoreId(String destination) {
+        if (destination == null || !destination.startsWith(SEAT_TOPIC_PREFIX) || !destination.endsWith(SEAT_TOPIC_SUFFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(destination.substring(SEAT_TOPIC_PREFIX.length(),
+                    destination.length() - SEAT_TOPIC_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Session {
+        private final String userId;
+        private final String jti;
+        // subscriptionId → storeId
+        private final Map<String, Long> subscriptions = new ConcurrentHashMap<>();
+
+        Session(String userId, String jti) {
+            this.userId = userId;
+            this.jti = jti;
+        }
+    }
+}
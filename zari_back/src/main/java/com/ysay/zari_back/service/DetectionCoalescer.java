@@ -0,0 +1,121 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.DetectionFrame;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// 매장·카메라별로 window 안에 몰려 들어온 프레임을 하나로 합친다.
+// 프레임은 매번 장면 전체를 담고 있으므로 window 안에서는 마지막 프레임만 남기고,
+// window 가 끝나는 시점에 남은 프레임을 내보내 버스트의 마지막 상태가 유실되지 않게 한다.
+// window 끝에 남은 프레임은 이 스레드에서 처리하지 않고 requeue 로 매장 파티션의 수집 큐에 되돌린다
+// (처리는 항상 파티션 워커가 맡고, 큐가 차 있으면 window 하나 뒤에 다시 시도한다).
+// 넘겨받은 프레임은 처리하거나 밀려난 뒤 풀에 반납한다.
+@Service
+@RequiredArgsConstructor
+public class DetectionCoalescer {
+
+    private final DetectionFramePool framePool;
+
+    private final ConcurrentHashMap<FrameKey, Slot> slots = new ConcurrentHashMap<>(256);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "detection-coalescer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${zari.detection.coalesce-window-ms:500}")
+    private long windowMs;
+
+    public void submit(DetectionFrame frame, Consumer<DetectionFrame> sink, Predicate<DetectionFrame> requeue) {
+        if (frame.isCoalesced()) {
+            emit(frame, sink);
+            return;
+        }
+        Slot slot = slots.computeIfAbsent(new FrameKey(frame.getStoreId(), frame.getCameraId()), k -> new Slot());
+
+        long now = System.currentTimeMillis();
+        boolean emitNow = false;
+        DetectionFrame replaced = null;
+        synchronized (slot) {
+            if (slot.pending == null && now - slot.lastEmitAt >= windowMs) {
+                slot.lastEmitAt = now;
+                emitNow = true;
+            } else {
+                replaced = slot.pending;
+                slot.pending = frame;
+                if (!slot.scheduled) {
+                    slot.scheduled = true;
+                    long delay = Math.max(0, slot.lastEmitAt + windowMs - now);
+                    scheduler.schedule(() -> flush(slot, requeue), delay, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        if (emitNow) {
+            emit(frame, sink);
+        }
+        framePool.release(replaced);
+    }
+
+    private void flush(Slot slot, Predicate<DetectionFrame> requeue) {
+        DetectionFrame frame;
+        synchronized (slot) {
+            frame = slot.pending;
+            slot.pending = null;
+            slot.scheduled = false;
+            slot.lastEmitAt = System.currentTimeMillis();
+        }
+        if (frame == null) {
+            return;
+        }
+        frame.markCoalesced();
+        if (requeue.test(frame)) {
+            return;
+        }
+        // 수집 큐가 가득 참. 그사이 더 새 프레임이 들어왔으면 그쪽을 남기고, 아니면 다음 window 에 다시 보낸다
+        DetectionFrame dropped = null;
+        synchronized (slot) {
+            if (slot.pending == null) {
+                slot.pending = frame;
+                if (!slot.scheduled) {
+                    slot.scheduled = true;
+                    scheduler.schedule(() -> flush(slot, requeue), windowMs, TimeUnit.MILLISECONDS);
+                }
+            } else {
+                dropped = frame;
+            }
+        }
+        framePool.release(dropped);
+    }
+
+    private void emit(DetectionFrame frame, Consumer<DetectionFrame> sink) {
+        try {
+            sink.accept(frame);
+        } catch (RuntimeException e) {
+            System.out.println("탐지 프레임 처리 실패 (storeId=" + frame.getStoreId() + "): " + e.getMessage());
+        } finally {
+            framePool.release(frame);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private static final class Slot {
+        private long lastEmitAt;
+        private boolean scheduled;
+        private DetectionFrame pending;
+    }
+}
@@ -0,0 +1,163 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.BBox;
+import com.ysay.zari_back.dto.DetectionDto;
+import com.ysay.zari_back.dto.DetectionFrame;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+// 탐지 업로드를 DetectionFrame 으로 바꾼다.
+//
+// 바이너리 형식 (big endian)
+//   헤더 23바이트 : version(u8) storeId(i64) cameraId(i32) timestamp(i64, epoch ms) count(u16)
+//   탐지 11바이트 : classId(u8, COCO) confidence(u16, x10000) x1 y1 x2 y2(u16)
+// 헤더 시각은 카메라 시계라 믿지 않는다. 서버 수신 시각 기준 max-clock-skew-ms 이내로 잘라 쓴다
+// (점유 버킷, 예측 슬롯, 체류 시간, 대시보드 날짜가 모두 이 시각을 쓴다).
+@Service
+@RequiredArgsConstructor
+public class DetectionDecoder {
+
+    public static final String BINARY_MEDIA_TYPE = "application/x-zari-detections";
+
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 23;
+    public static final int DETECTION_BYTES = 11;
+    public static final int CONFIDENCE_SCALE = 10000;
+
+    public static final int CLASS_PERSON = 0;
+    public static final int CLASS_CHAIR = 56;
+
+    private static final String CHAIR = "chair";
+    private static final String PERSON = "person";
+    // 스트림에서 한 번에 읽는 탐지 수. 버퍼는 스레드마다 이 크기 하나로 고정이다
+    private static final int CHUNK_DETECTIONS = 256;
+    private static final int CHUNK_BYTES = CHUNK_DETECTIONS * DETECTION_BYTES;
+
+    private final DetectionFramePool framePool;
+
+    // 요청 스레드마다 본문 조각을 읽을 작은 버퍼를 재사용한다 (본문 전체를 모으지 않는다)
+    private final ThreadLocal<ByteBuffer> chunkBuffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(CHUNK_BYTES));
+
+    @Value("${zari.seat.min-confidence:0.25}")
+    private double minConfidence;
+
+    @Value("${zari.detection.max-clock-skew-ms:2000}")
+    private long maxClockSkewMs;
+
+    public DetectionFrame fromJson(Long storeId, int cameraId, long timestamp, List<DetectionDto> detections) {
+        DetectionFrame frame = framePool.acquire();
+        frame.reset(storeId, cameraId, timestamp);
+        for (int i = 0, n = detections.size(); i < n; i++) {
+            DetectionDto d = detections.get(i);
+            if (d == null || d.bbox == null || d.label == null || d.confidence < minConfidence) {
+                continue;
+            }
+            BBox b = d.bbox;
+            if (CHAIR.equalsIgnoreCase(d.label)) {
+                frame.addChair(b.x1, b.y1, b.x2, b.y2);
+            } else if (PERSON.equalsIgnoreCase(d.label)) {
+                frame.addPerson(b.x1, b.y1, b.x2, b.y2);
+            }
+        }
+        return frame;
+    }
+
+    public DetectionFrame fromBinary(ByteBuffer buf, long receivedAt) {
+        if (buf.remaining() < HEADER_BYTES) {
+            throw new IllegalArgumentException("탐지 헤더가 올바르지 않습니다.");
+        }
+        DetectionFrame frame = framePool.acquire();
+        try {
+            int count = readHeader(buf, frame, receivedAt);
+            if (buf.remaining() < count * DETECTION_BYTES) {
+                throw new IllegalArgumentException("탐지 개수와 본문 길이가 맞지 않습니다.");
+            }
+            readDetections(buf, frame, count);
+            return frame;
+        } catch (RuntimeException e) {
+            framePool.release(frame);
+            throw e;
+        }
+    }
+
+    // 요청 본문을 통째로 읽지 않고 스트림에서 헤더와 탐지 CHUNK_DETECTIONS 개씩을 바로 읽어 디코딩한다.
+    // 헤더의 count 만큼만 읽으므로 본문 크기는 헤더가 정하는 한도(약 720KB)를 넘어 읽히지 않는다
+    public DetectionFrame fromBinary(InputStream in, long receivedAt) throws IOException {
+        ByteBuffer buf = chunkBuffers.get();
+        if (!fill(in, buf, HEADER_BYTES)) {
+            throw new IllegalArgumentException("탐지 헤더가 올바르지 않습니다.");
+        }
+        DetectionFrame frame = framePool.acquire();
+        try {
+            int remaining = readHeader(buf, frame, receivedAt);
+            while (remaining > 0) {
+                int n = Math.min(remaining, CHUNK_DETECTIONS);
+                if (!fill(in, buf, n * DETECTION_BYTES)) {
+                    throw new IllegalArgumentException("탐지 개수와 본문 길이가 맞지 않습니다.");
+                }
+                readDetections(buf, frame, n);
+                remaining -= n;
+            }
+            return frame;
+        } catch (IOException | RuntimeException e) {
+            framePool.release(frame);
+            throw e;
+        }
+    }
+
+    // 헤더를 읽어 frame 을 초기화하고 탐지 개수를 돌려준다
+    private int readHeader(ByteBuffer buf, DetectionFrame frame, long receivedAt) {
+        int version = buf.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 탐지 형식 버전입니다: " + version);
+        }
+        long storeId = buf.getLong();
+        int cameraId = buf.getInt();
+        long timestamp = Math.min(receivedAt, Math.max(receivedAt - maxClockSkewMs, buf.getLong()));
+        int count = buf.getShort() & 0xFFFF;
+        frame.reset(storeId, cameraId, timestamp);
+        return count;
+    }
+
+    private void readDetections(ByteBuffer buf, DetectionFrame frame, int count) {
+        int minScaled = (int) Math.round(minConfidence * CONFIDENCE_SCALE);
+        for (int i = 0; i < count; i++) {
+            int classId = buf.get() & 0xFF;
+            int confidence = buf.getShort() & 0xFFFF;
+            int x1 = buf.getShort() & 0xFFFF;
+            int y1 = buf.getShort() & 0xFFFF;
+            int x2 = buf.getShort() & 0xFFFF;
+            int y2 = buf.getShort() & 0xFFFF;
+            if (confidence < minScaled) {
+                continue;
+            }
+            if (classId == CLASS_CHAIR) {
+                frame.addChair(x1, y1, x2, y2);
+            } else if (classId == CLASS_PERSON) {
+                frame.addPerson(x1, y1, x2, y2);
+            }
+        }
+    }
+
+    // 버퍼를 비우고 정확히 len 바이트를 채운다. 그 전에 스트림이 끝나면 false
+    private static boolean fill(InputStream in, ByteBuffer buf, int len) throws IOException {
+        buf.clear();
+        byte[] array = buf.array();
+        int filled = 0;
+        while (filled < len) {
+            int read = in.read(array, filled, len - filled);
+            if (read == -1) {
+                return false;
+            }
+            filled += read;
+        }
+        buf.limit(len);
+        return true;
+    }
+}
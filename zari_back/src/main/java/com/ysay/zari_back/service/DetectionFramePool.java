@@ -0,0 +1,29 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.DetectionFrame;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+// 탐지 프레임 재사용 풀. 비어 있으면 새로 만들고, 가득 차면 반납된 프레임은 버린다.
+@Service
+public class DetectionFramePool {
+
+    private final ArrayBlockingQueue<DetectionFrame> free;
+
+    public DetectionFramePool(@Value("${zari.detection.pool-size:1024}") int poolSize) {
+        this.free = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+    }
+
+    public DetectionFrame acquire() {
+        DetectionFrame frame = free.poll();
+        return frame != null ? frame : new DetectionFrame();
+    }
+
+    public void release(DetectionFrame frame) {
+        if (frame != null) {
+            free.offer(frame);
+        }
+    }
+}
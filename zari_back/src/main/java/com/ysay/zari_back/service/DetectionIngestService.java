@@ -0,0 +1,140 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.DetectionFrame;
+import com.ysay.zari_back.dto.DetectionIngestStatsDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 탐지 업로드를 요청 스레드에서 떼어내는 수집 큐.
+// 매장 id 로 파티션을 나눠 워커마다 큐 하나를 전담하게 하므로 같은 매장의 프레임은 순서대로 처리된다.
+// 큐가 가득 차면 offer 가 false 를 돌려주고 컨트롤러는 429 로 응답한다.
+// 병합기가 window 끝에 내보내는 프레임과 끊긴 카메라 정리도 같은 파티션 큐로 들어와 같은 워커가 처리한다.
+@Service
+@RequiredArgsConstructor
+public class DetectionIngestService {
+
+    private final DetectionService detectionService;
+    private final SeatStateService seatStateService;
+    private final DetectionFramePool framePool;
+
+    @Value("${zari.detection.workers:2}")
+    private int workerCount;
+
+    @Value("${zari.detection.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Value("${zari.detection.batch-size:64}")
+    private int batchSize;
+
+    private BlockingQueue<DetectionFrame>[] queues;
+    private Thread[] workers;
+    private volatile boolean running;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    public void start() {
+        int n = Math.max(1, workerCount);
+        int perQueue = Math.max(1, queueCapacity / n);
+        queues = new BlockingQueue[n];
+        for (int i = 0; i < n; i++) {
+            queues[i] = new ArrayBlockingQueue<>(perQueue);
+        }
+
+        running = true;
+        // 스레드 덤프에서 파티션을 알아볼 수 있게 이름에 번호를 붙인다
+        workers = new Thread[n];
+        for (int i = 0; i < n; i++) {
+            BlockingQueue<DetectionFrame> queue = queues[i];
+            Thread t = new Thread(() -> drain(queue), "detection-worker-" + i);
+            t.setDaemon(true);
+            workers[i] = t;
+            t.start();
+        }
+        seatStateService.onCameraStale(this::offerCameraStale);
+    }
+
+    public boolean offer(DetectionFrame frame) {
+        if (queues[partition(frame)].offer(frame)) {
+            accepted.incrementAndGet();
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    // 병합기에서 되돌아온 프레임. 업로드 건수에는 세지 않는다
+    public boolean requeue(DetectionFrame frame) {
+        return queues[partition(frame)].offer(frame);
+    }
+
+    private boolean offerCameraStale(Long storeId, int cameraId) {
+        DetectionFrame frame = framePool.acquire();
+        frame.reset(storeId, cameraId, System.currentTimeMillis());
+        frame.markCameraStale();
+        if (requeue(frame)) {
+            return true;
+        }
+        framePool.release(frame);
+        return false;
+    }
+
+    private int partition(DetectionFrame frame) {
+        return Math.floorMod(frame.getStoreId().hashCode(), queues.length);
+    }
+
+    public DetectionIngestStatsDto getStats() {
+        int depth = 0;
+        for (BlockingQueue<DetectionFrame> queue : queues) {
+            depth += queue.size();
+        }
+        return DetectionIngestStatsDto.builder()
+                .workers(queues.length)
+                .queueDepth(depth)
+                .accepted(accepted.get())
+                .rejected(rejected.get())
+                .build();
+    }
+
+    private void drain(BlockingQueue<DetectionFrame> queue) {
+        List<DetectionFrame> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                DetectionFrame first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                detectionService.processBatch(batch, this::requeue);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                System.out.println("탐지 배치 처리 실패: " + e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+}
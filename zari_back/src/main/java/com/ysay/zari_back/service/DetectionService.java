@@ -0,0 +1,79 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.DetectionFrame;
+import com.ysay.zari_back.dto.SeatDeltaDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+@Service
+@RequiredArgsConstructor
+public class DetectionService {
+
+    private final SeatStateService seatStateService;
+    private final SeatBroadcastService seatBroadcastService;
+    private final DetectionCoalescer detectionCoalescer;
+    private final DetectionFramePool framePool;
+    private final OccupancyService occupancyService;
+    private final SeatPredictionService seatPredictionService;
+    private final StoreStatsService storeStatsService;
+
+    // 한 배치 안에서 같은 매장·카메라 프레임은 마지막 것만 넘긴다.
+    // requeue 는 병합기가 window 끝에 남은 프레임을 수집 큐로 되돌릴 때 쓴다.
+    // 변경분은 좌석 상태 락을 놓은 뒤 이 파티션 워커에서 보낸다 (브로커가 느려도 다른 프레임 처리를 막지 않는다)
+    public void processBatch(List<DetectionFrame> batch, Predicate<DetectionFrame> requeue) {
+        if (batch.size() == 1 && !batch.get(0).isCameraStale()) {
+            detectionCoalescer.submit(batch.get(0), this::process, requeue);
+            return;
+        }
+        Map<FrameKey, DetectionFrame> latest = new LinkedHashMap<>();
+        for (DetectionFrame frame : batch) {
+            if (frame.isCameraStale()) {
+                dropStaleCamera(frame);
+                continue;
+            }
+            FrameKey key = new FrameKey(frame.getStoreId(), frame.getCameraId());
+            DetectionFrame prev = latest.get(key);
+            if (prev == null || frame.getTimestamp() >= prev.getTimestamp()) {
+                latest.put(key, frame);
+                framePool.release(prev);
+            } else {
+                framePool.release(frame);
+            }
+        }
+        for (DetectionFrame frame : latest.values()) {
+            detectionCoalescer.submit(frame, this::process, requeue);
+        }
+    }
+
+    private void process(DetectionFrame frame) {
+        publish(seatStateService.apply(frame));
+
+        Long storeId = frame.getStoreId();
+        int total = seatStateService.totalSeats(storeId);
+        int occupied = total - seatStateService.freeSeats(storeId);
+        occupancyService.record(storeId, frame.getTimestamp(), occupied, total);
+        seatPredictionService.observe(storeId, frame.getTimestamp(), occupied, total);
+        storeStatsService.record(storeId, frame.getTimestamp(), occupied, total);
+    }
+
+    private void dropStaleCamera(DetectionFrame frame) {
+        try {
+            publish(seatStateService.dropStaleCamera(frame.getStoreId(), frame.getCameraId()));
+        } catch (RuntimeException e) {
+            System.out.println("끊긴 카메라 좌석 정리 실패 (storeId=" + frame.getStoreId() + "): " + e.getMessage());
+        } finally {
+            framePool.release(frame);
+        }
+    }
+
+    private void publish(SeatDeltaDto delta) {
+        if (delta != null) {
+            seatBroadcastService.onDelta(delta);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.ysay.zari_back.service;
+
+// 매장·카메라 단위로 프레임을 묶을 때 쓰는 키
+record FrameKey(Long storeId, int cameraId) {
+}
@@ -1,21 +1,22 @@
 package com.ysay.zari_back.service;
 
 import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
-import javax.annotation.PostConstruct;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.Base64;
-import java.util.UUID;
+import java.nio.file.Path;
 
 @Service
-public class GCSService {
+@ConditionalOnProperty(name = "zari.storage.type", havingValue = "gcs", matchIfMissing = true)
+public class GCSService implements ObjectStorage {
 
     @Value("${gcs.bucket.name}")
     private String bucketName;
@@ -27,18 +28,28 @@ public class GCSService {
 
     @PostConstruct
     public void init() throws IOException {
-        storage = StorageOptions.newBuilder()
-                .setCredentials(GoogleCredentials.fromStream(new FileInputStream(keyFilePath)))
-                .build()
-                .getService();
+        try (FileInputStream in = new FileInputStream(keyFilePath)) {
+            storage = StorageOptions.newBuilder()
+                    .setCredentials(GoogleCredentials.fromStream(in))
+                    .build()
+                    .getService();
+        }
     }
 
-    public String uploadFile(MultipartFile file) throws IOException {
-        String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
-        BlobInfo blobInfo = BlobInfo.newBuilder(bucketName, fileName).setContentType(file.getContentType()).build();
-        storage.create(blobInfo, file.getBytes());
-        return String.format("https://storage.googleapis.com/%s/%s", bucketName, fileName);
+    // createFrom 은 resumable 업로드로 파일을 조각내 보낸다
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        BlobInfo blobInfo = BlobInfo.newBuilder(bucketName, key).setContentType(contentType).build();
+        storage.createFrom(blobInfo, source);
     }
 
+    @Override
+    public boolean exists(String key) {
+        return storage.get(BlobId.of(bucketName, key)) != null;
+    }
 
+    @Override
+    public String urlFor(String key) {
+        return String.format("https://storage.googleapis.com/%s/%s", bucketName, key);
+    }
 }
@@ -0,0 +1,212 @@
+package com.ysay.zari_back.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 이미지 업로드를 요청·트랜잭션에서 떼어낸다.
+// 멀티파트 파일은 임시 파일로 옮겨 두고 (힙에 올리지 않음) 내용 해시로 키와 URL 을 먼저 정해서 돌려준다.
+// 트랜잭션이 커밋되면 별도 스레드에서 목록/상세/원본 크기 변형을 병렬로 만들어 올리고,
+// 같은 해시의 변형이 이미 있으면 건너뛴다. 업로드 실패는 backoff 로 재시도한다.
+// 디코딩 전에 헤더의 가로·세로만 읽어 ImageIO 가 못 읽는 형식이나 너무 큰 이미지는 요청 단계에서 거절한다
+// (작은 파일이 50k x 50k 를 선언해 힙을 다 쓰는 경우 방지).
+@Service
+@RequiredArgsConstructor
+public class ImageUploadService {
+
+    private static final ImageVariant[] VARIANTS = ImageVariant.values();
+
+    private final ObjectStorage objectStorage;
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+                Thread t = new Thread(r, "image-upload");
+                t.setDaemon(true);
+                return t;
+            });
+
+    @Value("${zari.upload.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${zari.upload.backoff-ms:500}")
+    private long backoffMs;
+
+    @Value("${zari.upload.max-pixels:24000000}")
+    private long maxPixels;
+
+    public record StagedImage(String imageUrl, String thumbnailUrl) {
+    }
+
+    public StagedImage stageUpload(MultipartFile file) throws IOException {
+        Path temp = Files.createTempFile("zari-upload-", ".tmp");
+        file.transferTo(temp);
+        try {
+            checkDimensions(temp);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+
+        String hash = sha256(temp);
+        submitAfterCommit(() -> process(hash, temp), temp);
+        return new StagedImage(
+                objectStorage.urlFor(ImageVariant.DETAIL.key(hash)),
+                objectStorage.urlFor(ImageVariant.LIST.key(hash)));
+    }
+
+    private void checkDimensions(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels <= 0 || pixels > maxPixels) {
+                    throw new IllegalArgumentException("이미지가 너무 큽니다. (최대 " + maxPixels + " 픽셀)");
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void submitAfterCommit(Runnable task, Path temp) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.execute(task);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    executor.execute(task);
+                } else {
+                    deleteQuietly(temp);
+                }
+            }
+        });
+    }
+
+    // 변형마다 작업을 나눠 병렬로 만들고, 마지막으로 끝난 작업이 임시 파일을 지운다
+    private void process(String hash, Path source) {
+        boolean scheduled = false;
+        try {
+            boolean allExist = true;
+            for (ImageVariant variant : VARIANTS) {
+                if (!objectStorage.exists(variant.key(hash))) {
+                    allExist = false;
+                    break;
+                }
+            }
+            if (allExist) {
+                return;
+            }
+
+            BufferedImage image = ImageIO.read(source.toFile());
+            if (image == null) {
+                throw new IOException("이미지를 디코딩할 수 없습니다.");
+            }
+            AtomicInteger remaining = new AtomicInteger(VARIANTS.length);
+            for (ImageVariant variant : VARIANTS) {
+                executor.execute(() -> {
+                    try {
+                        produce(variant, hash, image);
+                    } finally {
+                        if (remaining.decrementAndGet() == 0) {
+                            deleteQuietly(source);
+                        }
+                    }
+                });
+            }
+            scheduled = true;
+        } catch (IOException | RuntimeException e) {
+            System.out.println("이미지 처리 실패 (" + hash + "): " + e.getMessage());
+        } finally {
+            if (!scheduled) {
+                deleteQuietly(source);
+            }
+        }
+    }
+
+    private void produce(ImageVariant variant, String hash, BufferedImage image) {
+        String key = variant.key(hash);
+        try {
+            if (objectStorage.exists(key)) {
+                return;
+            }
+            Path resized = Files.createTempFile("zari-variant-", ".jpg");
+            ImageResizer.writeJpeg(ImageResizer.resize(image, variant.getMaxEdge()), resized);
+            upload(key, resized, "image/jpeg", 1);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("이미지 변형 생성 실패 (" + key + "): " + e.getMessage());
+        }
+    }
+
+    private void upload(String key, Path file, String contentType, int attempt) {
+        try {
+            objectStorage.put(key, file, contentType);
+            deleteQuietly(file);
+        } catch (IOException | RuntimeException e) {
+            if (attempt >= maxAttempts) {
+                System.out.println("이미지 업로드 최종 실패 (" + key + "): " + e.getMessage());
+                deleteQuietly(file);
+                return;
+            }
+            long delay = backoffMs << Math.min(attempt - 1, 10);
+            executor.schedule(() -> upload(key, file, contentType, attempt + 1), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            while (in.read(buffer) != -1) {
+                // 읽으면서 해시를 계산한다
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
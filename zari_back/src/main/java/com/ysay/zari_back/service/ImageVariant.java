@@ -0,0 +1,25 @@
+package com.ysay.zari_back.service;
+
+// 업로드 이미지마다 만드는 고정 크기 변형 (긴 변 기준 픽셀)
+public enum ImageVariant {
+    LIST("list", 320),
+    DETAIL("detail", 960),
+    FULL("full", 2048);
+
+    private final String name;
+    private final int maxEdge;
+
+    ImageVariant(String name, int maxEdge) {
+        this.name = name;
+        this.maxEdge = maxEdge;
+    }
+
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+
+    // 같은 내용의 이미지는 같은 키를 갖는다
+    public String key(String contentHash) {
+        return "images/" + contentHash + "/" + name + ".jpg";
+    }
+}
@@ -0,0 +1,123 @@
+package com.ysay.zari_back.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// 검색용 한글 토큰화.
+// - 정규화: 소문자, 글자·숫자만 남기고 공백·기호 제거
+// - 부분 일치: 정규화한 문자열의 2-gram (한 글자면 그 글자)
+// - 자동완성: 음절을 자모로 풀어 쓴 문자열 (겹받침·겹모음도 풀어서 입력 중인 "칰" 이 "치킨" 의 접두어가 되게 한다)
+// - 초성 검색: 음절마다 초성만 ("ㅊㅋ" → 치킨)
+final class KoreanTokenizer {
+
+    private static final int HANGUL_BASE = 0xAC00;
+    private static final int HANGUL_LAST = 0xD7A3;
+    private static final String CHO = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] JUNG = {"ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ",
+            "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONG = {"", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ",
+            "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    // 호환 자모로 직접 입력된 겹자모
+    private static final String COMPOUND = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+    private static final String[] COMPOUND_PARTS = {"ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ",
+            "ㄹㅎ", "ㅂㅅ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ"};
+
+    private KoreanTokenizer() {
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // 공백 기준 단어(정규화) + 전체 문자열(정규화). 자동완성 후보로 쓴다
+    static Set<String> words(String text) {
+        Set<String> out = new LinkedHashSet<>();
+        if (text == null) {
+            return out;
+        }
+        for (String w : text.split("\\s+")) {
+            String n = normalize(w);
+            if (!n.isEmpty()) {
+                out.add(n);
+            }
+        }
+        String whole = normalize(text);
+        if (!whole.isEmpty()) {
+            out.add(whole);
+        }
+        return out;
+    }
+
+    static List<String> ngrams(String normalized) {
+        List<String> out = new ArrayList<>(Math.max(normalized.length() - 1, 1));
+        if (normalized.length() == 1) {
+            out.add(normalized);
+            return out;
+        }
+        for (int i = 0; i + 2 <= normalized.length(); i++) {
+            out.add(normalized.substring(i, i + 2));
+        }
+        return out;
+    }
+
+    static String jamo(String normalized) {
+        StringBuilder sb = new StringBuilder(normalized.length() * 3);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                int idx = c - HANGUL_BASE;
+                sb.append(CHO.charAt(idx / 588))
+                        .append(JUNG[(idx % 588) / 28])
+                        .append(JONG[idx % 28]);
+            } else {
+                int compound = COMPOUND.indexOf(c);
+                if (compound >= 0) {
+                    sb.append(COMPOUND_PARTS[compound]);
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    static String choseong(String normalized) {
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                sb.append(CHO.charAt((c - HANGUL_BASE) / 588));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // 한글 자음만으로 된 입력인지 (초성 검색 대상)
+    static boolean isChoseongOnly(String normalized) {
+        if (normalized.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < normalized.length(); i++) {
+            if (CHO.indexOf(normalized.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ysay.zari_back.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+// 로컬 디스크 저장소. GCS 없이 개발·테스트할 때 쓴다 (zari.storage.type=local)
+@Service
+@ConditionalOnProperty(name = "zari.storage.type", havingValue = "local")
+public class LocalObjectStorage implements ObjectStorage {
+
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalObjectStorage(@Value("${zari.storage.local.root:./uploads}") String root,
+                              @Value("${zari.storage.local.base-url:/files}") String baseUrl) throws IOException {
+        this.root = Files.createDirectories(Paths.get(root).toAbsolutePath().normalize());
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public String urlFor(String key) {
+        return baseUrl + "/" + key;
+    }
+
+    private Path resolve(String key) {
+        Path target = root.resolve(key).normalize();
+        if (!target.startsWith(root)) {
+            throw new IllegalArgumentException("잘못된 파일 경로입니다: " + key);
+        }
+        return target;
+    }
+}
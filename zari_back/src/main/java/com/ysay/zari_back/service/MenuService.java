@@ -7,6 +7,9 @@ import com.ysay.zari_back.repository.MenuRepository;
 import com.ysay.zari_back.repository.StoreRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -17,16 +20,19 @@ public class MenuService {
 
     private final MenuRepository menuRepository;
     private final StoreRepository storeRepository;
-    private final GCSService gcsService;
+    private final ImageUploadService imageUploadService;
+    private final StoreDetailCache storeDetailCache;
+    private final StoreSearchIndex storeSearchIndex;
 
+    @Transactional
     public void registerMenu(Long storeId, MenuRegisterDto dto, MultipartFile imageFile) {
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 매장이 존재하지 않습니다."));
 
-        String imageUrl = null;
+        ImageUploadService.StagedImage image = null;
         if (imageFile != null && !imageFile.isEmpty()) {
             try {
-                imageUrl = gcsService.uploadFile(imageFile);
+                image = imageUploadService.stageUpload(imageFile);
             } catch (IOException e) {
                 throw new RuntimeException("이미지 업로드 실패", e);
             }
@@ -36,10 +42,21 @@ public class MenuService {
         Menu menu = Menu.builder()
                 .name(dto.getName())
                 .price(dto.getPrice())
-                .imageUrl(imageUrl)
+                .imageUrl(image != null ? image.imageUrl() : null)
+                .thumbnailUrl(image != null ? image.thumbnailUrl() : null)
                 .store(store)
                 .build();
 
         menuRepository.save(menu);
+        storeDetailCache.invalidateAfterCommit(storeId);
+
+        // 롤백된 메뉴가 검색에 걸리지 않게 커밋된 뒤에 색인한다
+        String menuName = menu.getName();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                storeSearchIndex.addMenu(storeId, menuName);
+            }
+        });
     }
 }
@@ -1,17 +1,289 @@
 package com.ysay.zari_back.service;
 
-import com.ysay.zari_back.dto.MessageDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysay.zari_back.entity.NotificationOutbox;
+import com.ysay.zari_back.repository.NotificationOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
 
+import java.io.IOException;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 사용자 알림. 보내는 알림은 전부 보관함(notification_outbox)에 배치로 쌓고,
+// 접속 중이면 바로 보내면서 STOMP "seq" 헤더를 붙인다. 클라이언트가 /app/notifications/ack 로
+// 받은 알림의 seq 를 하나씩 돌려줄 때까지 타이밍 휠로 다시 보내고, ack 한 알림만 보관함에서 지운다.
+// 끊겨 있던 사용자는 /user/queue/alert 를 다시 구독할 때 아직 ack 하지 않은 것을 전부 받는다.
+// 여러 노드가 같은 사용자에게 보내면 seq 가 노드 사이에서 엇갈리므로 누적 ack 는 쓰지 않는다.
+// 보관 기간이 지난 알림은 버린다.
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
+    public static final String ALERT_QUEUE = "/queue/alert";
+    public static final String USER_ALERT_DESTINATION = "/user" + ALERT_QUEUE;
+    public static final String SEQ_HEADER = "seq";
+
+    private static final String INSERT_SQL =
+            "insert into notification_outbox (user_id, seq, payload, created_at, expires_at) values (?, ?, ?, ?, ?)";
+    private static final String DELETE_ACKED_SQL =
+            "delete from notification_outbox where user_id = ? and seq = ?";
+    private static final String PURGE_SQL =
+            "delete from notification_outbox where expires_at < ?";
+
+    // seq = 밀리초 << 16 | 같은 ms 안의 순번 << 6 | 노드 번호 (0~63)
+    private static final int NODE_BITS = 6;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final ConnectionRegistry connectionRegistry;
+    private final TimingWheelScheduler timingWheelScheduler;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationOutboxRepository notificationOutboxRepository;
+
+    private final AtomicLong lastSeq = new AtomicLong();
+    private final ConcurrentLinkedQueue<PendingNotification> pendingRows = new ConcurrentLinkedQueue<>();
+    // 이 노드가 보냈고 아직 ack 를 못 받은 알림. 재전송할지만 본다
+    private final Set<Delivery> awaitingAck = ConcurrentHashMap.newKeySet();
+    // ack 는 받았지만 보관함에서 아직 지우지 않은 알림
+    private final Set<Delivery> pendingAcks = ConcurrentHashMap.newKeySet();
+
+    // 재구독 때 보관함 조회와 재전송은 STOMP 수신 스레드가 아니라 여기서 한다
+    private final ScheduledExecutorService replayExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "notification-replay");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${zari.notification.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${zari.notification.ack-timeout-ms:10000}")
+    private long ackTimeoutMs;
+
+    @Value("${zari.notification.max-attempts:5}")
+    private int maxAttempts;
+
+    // 구독 프레임이 브로커에 등록되기 전에 보내면 사라지므로 재전송은 잠깐 뒤에 한다
+    @Value("${zari.notification.replay-delay-ms:300}")
+    private long replayDelayMs;
+
+    // 노드마다 달라야 같은 사용자에게 같은 ms 에 보낸 알림의 seq 가 겹치지 않는다. 비어 있으면 임의로 고른다
+    @Value("${zari.notification.node-id:-1}")
+    private int nodeId;
+
+    @PostConstruct
+    public void init() {
+        if (nodeId < 0 || nodeId > NODE_MASK) {
+            nodeId = ThreadLocalRandom.current().nextInt((int) NODE_MASK + 1);
+        }
+    }
+
+    // 보관용 JSON 직렬화는 flush 때 배치로 하므로, 접속하지 않은 사용자에게 보내는 호출은 큐에 넣기만 한다
+    public long sendToUser(String userId, Object payload) {
+        long seq = nextSeq();
+        long now = System.currentTimeMillis();
+        pendingRows.add(new PendingNotification(userId, seq, payload, now, now + ttlMs));
+        deliver(userId, seq, payload, 1);
+        return seq;
+    }
+
+    // 알림 하나에 대한 ack. 다른 알림은 건드리지 않는다
+    public void ack(String userId, long seq) {
+        Delivery delivery = new Delivery(userId, seq);
+        awaitingAck.remove(delivery);
+        pendingAcks.add(delivery);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        Principal user = event.getUser();
+        if (user == null) {
+            return;
+        }
+        String destination = SimpMessageHeaderAccessor.wrap(event.getMessage()).getDestination();
+        if (USER_ALERT_DESTINATION.equals(destination)) {
+            String userId = user.getName();
+            replayExecutor.schedule(() -> replay(userId), replayDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void replay(String userId) {
+        try {
+            flush();
+            List<NotificationOutbox> rows = notificationOutboxRepository
+                    .findTop500ByUserIdAndExpiresAtGreaterThanOrderBySeq(userId, System.currentTimeMillis());
+            for (NotificationOutbox row : rows) {
+                if (pendingAcks.contains(new Delivery(userId, row.getSeq()))) {
+                    continue;
+                }
+                JsonNode payload;
+                try {
+                    payload = objectMapper.readTree(row.getPayload());
+                } catch (IOException e) {
+                    continue;
+                }
+                deliver(userId, row.getSeq(), payload, 1);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("알림 재전송 실패: userId=" + userId + " " + e.getMessage());
+        }
+    }
+
+    // 접속해 있지 않으면 보내지 않는다 (재접속 때 보관함에서 다시 보낸다)
+    private void deliver(String userId, long seq, Object payload, int attempt) {
+        Delivery delivery = new Delivery(userId, seq);
+        if (attempt > 1 && !awaitingAck.contains(delivery)) {
+            return;
+        }
+        if (!connectionRegistry.isOnline(userId)) {
+            awaitingAck.remove(delivery);
+            return;
+        }
+        if (attempt < maxAttempts) {
+            awaitingAck.add(delivery);
+        } else {
+            awaitingAck.remove(delivery);
+        }
+        messagingTemplate.convertAndSendToUser(userId, ALERT_QUEUE, payload, Map.<String, Object>of(SEQ_HEADER, seq));
+        if (attempt < maxAttempts) {
+            timingWheelScheduler.schedule(ackTimeoutMs << (attempt - 1),
+                    () -> deliver(userId, seq, payload, attempt + 1));
+        }
+    }
+
+    // 노드마다 시간 기반으로 증가한다. 순번만 올리므로 노드 번호 비트는 그대로다
+    private long nextSeq() {
+        long base = (System.currentTimeMillis() << 16) | nodeId;
+        return lastSeq.accumulateAndGet(base, (prev, now) -> Math.max(prev + (1L << NODE_BITS), now));
+    }
+
+    // 재구독 재전송과 주기 flush 가 겹치면, 한쪽이 쓰는 중인 행을 다른 쪽 조회가 놓치지 않게 한 번에 하나만 돈다
+    @Scheduled(fixedDelayString = "${zari.notification.flush-ms:200}")
+    public synchronized void flush() {
+        // 이번에 지울 ack 는 행을 꺼내기 전에 정한다. 그 전에 ack 된 알림의 행은 아래에서 걸러지므로 다시 쌓이지 않는다
+        List<Delivery> acks = new ArrayList<>(pendingAcks);
+        long now = System.currentTimeMillis();
+
+        List<PendingNotification> kept = new ArrayList<>();
+        List<NotificationOutbox> rows = new ArrayList<>();
+        PendingNotification pending;
+        while ((pending = pendingRows.poll()) != null) {
+            if (pending.expiresAt() < now || pendingAcks.contains(new Delivery(pending.userId(), pending.seq()))) {
+                continue;
+            }
+            try {
+                rows.add(NotificationOutbox.builder()
+                        .userId(pending.userId())
+                        .seq(pending.seq())
+                        .payload(objectMapper.writeValueAsString(pending.payload()))
+                        .createdAt(pending.createdAt())
+                        .expiresAt(pending.expiresAt())
+                        .build());
+                kept.add(pending);
+            } catch (JsonProcessingException e) {
+                System.out.println("알림 직렬화 실패: userId=" + pending.userId() + " " + e.getOriginalMessage());
+            }
+        }
+        if (!rows.isEmpty() && !insert(rows)) {
+            // 보관하지 못한 알림은 다음 주기에 다시 쓴다. 그 알림의 ack 도 행이 들어간 뒤에 지운다
+            pendingRows.addAll(kept);
+            return;
+        }
+        deleteAcked(acks);
+    }
+
+    private boolean insert(List<NotificationOutbox> rows) {
+        try {
+            batchInsert(rows);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // 지난번 배치가 일부만 들어간 경우. 한 건씩 넣으면서 이미 있는 행은 넘긴다
+            for (NotificationOutbox row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, row.getUserId(), row.getSeq(), row.getPayload(),
+                            row.getCreatedAt(), row.getExpiresAt());
+                } catch (DataIntegrityViolationException duplicate) {
+                    // 이미 보관됨
+                } catch (RuntimeException retry) {
+                    System.out.println("알림 보관 실패 (" + rows.size() + "건, 다음 주기에 재시도): " + retry.getMessage());
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            System.out.println("알림 보관 실패 (" + rows.size() + "건, 다음 주기에 재시도): " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void batchInsert(List<NotificationOutbox> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, 500, (ps, r) -> {
+            ps.setString(1, r.getUserId());
+            ps.setLong(2, r.getSeq());
+            ps.setString(3, r.getPayload());
+            ps.setLong(4, r.getCreatedAt());
+            ps.setLong(5, r.getExpiresAt());
+        });
+    }
+
+    private void deleteAcked(List<Delivery> acks) {
+        if (acks.isEmpty()) {
+            return;
+        }
+        List<Object[]> deletes = new ArrayList<>(acks.size());
+        for (Delivery d : acks) {
+            deletes.add(new Object[]{d.userId(), d.seq()});
+        }
+        try {
+            jdbcTemplate.batchUpdate(DELETE_ACKED_SQL, deletes);
+            acks.forEach(pendingAcks::remove);
+        } catch (RuntimeException e) {
+            System.out.println("알림 ack 저장 실패 (" + acks.size() + "건, 다음 주기에 재시도): " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${zari.notification.purge-ms:300000}")
+    public void purgeExpired() {
+        int n = jdbcTemplate.update(PURGE_SQL, System.currentTimeMillis());
+        if (n > 0) {
+            System.out.println("만료된 알림 " + n + "건 삭제");
+        }
+    }
+
+    // 종료 전에 남은 알림과 ack 를 쓴다
+    @PreDestroy
+    public void shutdown() {
+        replayExecutor.shutdownNow();
+        flush();
+    }
+
+    private record PendingNotification(String userId, long seq, Object payload, long createdAt, long expiresAt) {
+    }
 
-    public void sendToUser(String userId, MessageDto messageDto) {
-        messagingTemplate.convertAndSendToUser(userId, "/queue/alert", messageDto);
+    private record Delivery(String userId, long seq) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.ysay.zari_back.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// 이미지 등 업로드 파일 저장소. zari.storage.type 으로 gcs / local 중 하나가 올라온다
+public interface ObjectStorage {
+
+    // source 파일을 통째로 메모리에 올리지 않고 스트리밍으로 올린다
+    void put(String key, Path source, String contentType) throws IOException;
+
+    boolean exists(String key);
+
+    String urlFor(String key);
+}
@@ -0,0 +1,213 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.OccupancyPointDto;
+import com.ysay.zari_back.entity.OccupancyRollup;
+import com.ysay.zari_back.entity.RollupResolution;
+import com.ysay.zari_back.repository.OccupancyRollupRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+// 좌석 점유 시계열.
+// 프레임마다 매장별로 열려 있는 분/15분/1시간 버킷에 더하기만 하고 (O(1)),
+// 닫힌 버킷은 큐에 모았다가 주기적으로 한 번에 batch upsert 로 쓴다.
+// 같은 버킷 행이 이미 있으면 (재시작 전에 일부만 닫아 썼거나 다른 노드가 먼저 쓴 경우) 더해서 합치므로 키 중복으로 배치가 실패하지 않는다.
+// 배치는 한 트랜잭션이라 실패하면 아무것도 더해지지 않으며, 그때는 버킷을 큐에 되돌려 다음 주기에 다시 쓴다.
+// 분 단위 행은 zari.occupancy.minute-retention-ms 가 지나면 지운다 (15분·1시간 행으로 충분하다).
+// 조회는 기간에 맞는 해상도의 롤업 테이블만 읽는다.
+@Service
+public class OccupancyService {
+
+    private static final RollupResolution[] RESOLUTIONS = RollupResolution.values();
+    private static final long SIX_HOURS = 6 * 60 * 60_000L;
+    private static final long SEVEN_DAYS = 7 * 24 * 60 * 60_000L;
+
+    // 드라이버가 배치 결과를 SUCCESS_NO_INFO 로 돌려줘도 (rewriteBatchedStatements) 행 수를 보지 않으므로 상관없다
+    private static final String UPSERT_SQL =
+            "insert into occupancy_rollup " +
+            "(store_id, resolution, bucket_start, samples, occupied_sum, occupied_max, seat_sum) " +
+            "values (?, ?, ?, ?, ?, ?, ?) " +
+            "on duplicate key update samples = samples + values(samples), " +
+            "occupied_sum = occupied_sum + values(occupied_sum), " +
+            "occupied_max = greatest(occupied_max, values(occupied_max)), " +
+            "seat_sum = seat_sum + values(seat_sum)";
+    private static final String PURGE_MINUTE_SQL =
+            "delete from occupancy_rollup where resolution = 'MINUTE' and bucket_start < ?";
+
+    private final OccupancyRollupRepository occupancyRollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${zari.occupancy.minute-retention-ms:604800000}")
+    private long minuteRetentionMs;
+
+    private final ConcurrentHashMap<Long, Accumulator> accumulators = new ConcurrentHashMap<>(256);
+    private final ConcurrentLinkedQueue<OccupancyRollup> closed = new ConcurrentLinkedQueue<>();
+
+    public OccupancyService(OccupancyRollupRepository occupancyRollupRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.occupancyRollupRepository = occupancyRollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void record(Long storeId, long timestamp, int occupied, int totalSeats) {
+        accumulators.computeIfAbsent(storeId, Accumulator::new)
+                .add(timestamp, occupied, totalSeats, closed);
+    }
+
+    // 카메라가 멈춘 매장도 버킷이 끝나면 닫아서 내보낸다
+    @Scheduled(fixedDelayString = "${zari.occupancy.flush-ms:10000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (Accumulator acc : accumulators.values()) {
+            acc.closeBefore(now, closed);
+        }
+        write();
+    }
+
+    // 종료할 때는 열린 버킷도 지금까지 모인 만큼 닫아 쓴다. 재시작 뒤 같은 버킷은 UPSERT_SQL 이 더한다
+    @PreDestroy
+    public void shutdown() {
+        for (Accumulator acc : accumulators.values()) {
+            acc.closeBefore(Long.MAX_VALUE, closed);
+        }
+        write();
+    }
+
+    @Scheduled(fixedDelayString = "${zari.occupancy.purge-ms:3600000}")
+    public void purgeMinuteRollups() {
+        try {
+            int n = jdbcTemplate.update(PURGE_MINUTE_SQL, System.currentTimeMillis() - minuteRetentionMs);
+            if (n > 0) {
+                System.out.println("보관 기간이 지난 분 단위 점유 시계열 " + n + "건 삭제");
+            }
+        } catch (RuntimeException e) {
+            System.out.println("분 단위 점유 시계열 삭제 실패: " + e.getMessage());
+        }
+    }
+
+    private void write() {
+        List<OccupancyRollup> rows = new ArrayList<>();
+        OccupancyRollup row;
+        while ((row = closed.poll()) != null) {
+            rows.add(row);
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, rows, 500, (ps, r) -> {
+                        ps.setLong(1, r.getStoreId());
+                        ps.setString(2, r.getResolution().name());
+                        ps.setLong(3, r.getBucketStart());
+                        ps.setInt(4, r.getSamples());
+                        ps.setLong(5, r.getOccupiedSum());
+                        ps.setInt(6, r.getOccupiedMax());
+                        ps.setLong(7, r.getSeatSum());
+                    }));
+        } catch (RuntimeException e) {
+            closed.addAll(rows);
+            System.out.println("점유 시계열 저장 실패 (" + rows.size() + "건, 다음 주기에 재시도): " + e.getMessage());
+        }
+    }
+
+    // resolution 이 없으면 기간에 맞춰 고른다 (6시간 이하 분, 7일 이하 15분, 그 이상 1시간)
+    public List<OccupancyPointDto> getSeries(Long storeId, long from, long to, RollupResolution resolution) {
+        RollupResolution res = resolution != null ? resolution
+                : to - from <= SIX_HOURS ? RollupResolution.MINUTE
+                : to - from <= SEVEN_DAYS ? RollupResolution.QUARTER_HOUR
+                : RollupResolution.HOUR;
+
+        return occupancyRollupRepository
+                .findByStoreIdAndResolutionAndBucketStartBetweenOrderByBucketStart(storeId, res, from, to)
+                .stream()
+                .map(r -> OccupancyPointDto.builder()
+                        .bucketStart(r.getBucketStart())
+                        .averageOccupied(r.getSamples() == 0 ? 0 : (double) r.getOccupiedSum() / r.getSamples())
+                        .maxOccupied(r.getOccupiedMax())
+                        .averageSeats(r.getSamples() == 0 ? 0 : (double) r.getSeatSum() / r.getSamples())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // 매장 하나의 열린 버킷들. 해상도별로 기본형 배열 한 칸씩 쓴다
+    private static final class Accumulator {
+        private final Long storeId;
+        private final long[] bucketStart = new long[RESOLUTIONS.length];
+        private final int[] samples = new int[RESOLUTIONS.length];
+        private final long[] occupiedSum = new long[RESOLUTIONS.length];
+        private final int[] occupiedMax = new int[RESOLUTIONS.length];
+        private final long[] seatSum = new long[RESOLUTIONS.length];
+        // 해상도별로 마지막에 닫아 내보낸 버킷. 그 이전 버킷에 늦게 온 프레임은 버린다
+        private final long[] lastClosed = new long[RESOLUTIONS.length];
+
+        Accumulator(Long storeId) {
+            this.storeId = storeId;
+            Arrays.fill(lastClosed, Long.MIN_VALUE);
+        }
+
+        synchronized void add(long timestamp, int occupied, int totalSeats,
+                              ConcurrentLinkedQueue<OccupancyRollup> out) {
+            for (int i = 0; i < RESOLUTIONS.length; i++) {
+                long start = RESOLUTIONS[i].bucketStart(timestamp);
+                if (start <= lastClosed[i]) {
+                    continue;   // 이미 닫아 내보낸 버킷
+                }
+                if (samples[i] > 0 && start != bucketStart[i]) {
+                    if (start < bucketStart[i]) {
+                        continue;   // 이미 지난 버킷에 늦게 도착한 프레임
+                    }
+                    close(i, out);
+                }
+                if (samples[i] == 0) {
+                    bucketStart[i] = start;
+                }
+                samples[i]++;
+                occupiedSum[i] += occupied;
+                seatSum[i] += totalSeats;
+                if (occupied > occupiedMax[i]) {
+                    occupiedMax[i] = occupied;
+                }
+            }
+        }
+
+        synchronized void closeBefore(long now, ConcurrentLinkedQueue<OccupancyRollup> out) {
+            for (int i = 0; i < RESOLUTIONS.length; i++) {
+                if (samples[i] > 0 && bucketStart[i] + RESOLUTIONS[i].getMillis() <= now) {
+                    close(i, out);
+                }
+            }
+        }
+
+        private void close(int i, ConcurrentLinkedQueue<OccupancyRollup> out) {
+            out.add(OccupancyRollup.builder()
+                    .storeId(storeId)
+                    .resolution(RESOLUTIONS[i])
+                    .bucketStart(bucketStart[i])
+                    .samples(samples[i])
+                    .occupiedSum(occupiedSum[i])
+                    .occupiedMax(occupiedMax[i])
+                    .seatSum(seatSum[i])
+                    .build());
+            lastClosed[i] = bucketStart[i];
+            samples[i] = 0;
+            occupiedSum[i] = 0;
+            occupiedMax[i] = 0;
+            seatSum[i] = 0;
+        }
+    }
+}
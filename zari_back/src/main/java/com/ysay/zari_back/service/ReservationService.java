@@ -0,0 +1,325 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.ReservationDto;
+import com.ysay.zari_back.dto.ReservationMessageDto;
+import com.ysay.zari_back.dto.StoreSimpleDto;
+import com.ysay.zari_back.entity.Reservation;
+import com.ysay.zari_back.entity.ReservationStatus;
+import com.ysay.zari_back.repository.ReservationRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+// 좌석 예약(홀드).
+// 잡힌 좌석 수는 매장 좌석 상태(StoreSeatState)에 두고 CAS 로만 늘리므로
+// 마지막 한 자리를 두 명이 동시에 잡아도 한 명만 성공하고, 매장끼리는 서로 막지 않는다.
+// 취소·만료되면 좌석을 돌려주고, 확정된 좌석은 카메라가 손님이 앉은 것을 볼 때까지 잡아 둔다
+// (StoreSeatState 가 새로 앉은 좌석 수만큼 돌려준다). 도착 시간(arrival-ms)이 지나도록 안 오면 남은 만큼 돌려준다.
+// 만료는 TimingWheelScheduler 가, 저장은 주기적인 batch insert/update 가 맡는다. 저장에 실패한 행은 다음 주기에 다시 쓴다.
+// 홀드 수는 이 JVM 에만 있으므로 여러 노드에서는 한 매장의 예약을 한 노드로 보내야 초과 예약이 나지 않는다.
+@Service
+public class ReservationService {
+
+    private static final String INSERT_SQL =
+            "insert into reservation (reservation_id, store_id, user_id, seats, status, created_at, expires_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "update reservation set status = ? where reservation_id = ?";
+    private static final String EXPIRE_STALE_SQL =
+            "update reservation set status = 'EXPIRED' where status = 'HELD' and expires_at < ?";
+
+    private final SeatStateService seatStateService;
+    private final StoreGeoIndex storeGeoIndex;
+    private final NotificationService notificationService;
+    private final ReservationRepository reservationRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, AtomicInteger> pendingHolds = new ConcurrentHashMap<>(256);
+    private final ConcurrentHashMap<String, Hold> holds = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Hold> pendingInserts = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Hold> pendingUpdates = new ConcurrentLinkedQueue<>();
+    // 저장에 실패한 insert. 배치 일부가 들어갔을 수 있으므로 다시 쓸 때는 update 를 먼저 해 본다
+    private final ConcurrentLinkedQueue<Hold> failedInserts = new ConcurrentLinkedQueue<>();
+    private final TimingWheelScheduler timingWheelScheduler;
+
+    @Value("${zari.reservation.hold-ms:600000}")
+    private long holdMs;
+
+    @Value("${zari.reservation.max-seats:8}")
+    private int maxSeats;
+
+    @Value("${zari.reservation.arrival-ms:900000}")
+    private long arrivalMs;
+
+    public ReservationService(SeatStateService seatStateService,
+                              StoreGeoIndex storeGeoIndex,
+                              NotificationService notificationService,
+                              ReservationRepository reservationRepository,
+                              JdbcTemplate jdbcTemplate,
+                              TimingWheelScheduler timingWheelScheduler) {
+        this.seatStateService = seatStateService;
+        this.storeGeoIndex = storeGeoIndex;
+        this.notificationService = notificationService;
+        this.reservationRepository = reservationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.timingWheelScheduler = timingWheelScheduler;
+    }
+
+    // 재시작하거나 노드가 죽으면 메모리의 홀드가 사라지므로, 만료 시각이 지났는데 DB 에 HELD 로 남은 행을 만료 처리한다.
+    // 살아 있는 홀드는 만료 시각 전이라 건드리지 않는다 (다른 노드의 홀드도 마찬가지)
+    @Scheduled(fixedDelayString = "${zari.reservation.sweep-ms:60000}")
+    public void expireStaleHolds() {
+        int n = jdbcTemplate.update(EXPIRE_STALE_SQL, System.currentTimeMillis());
+        if (n > 0) {
+            System.out.println("만료 시각이 지난 예약 홀드 " + n + "건 만료 처리");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public ReservationDto hold(Long storeId, Long userId, int seats) {
+        if (seats < 1 || seats > maxSeats) {
+            throw new IllegalArgumentException("예약 좌석 수는 1~" + maxSeats + " 사이여야 합니다.");
+        }
+        StoreSimpleDto store = storeGeoIndex.get(storeId);
+        if (store == null) {
+            throw new IllegalArgumentException("존재하지 않는 매장입니다.");
+        }
+
+        if (!seatStateService.tryHold(storeId, seats)) {
+            throw new IllegalStateException("남은 좌석이 부족합니다.");
+        }
+
+        long now = System.currentTimeMillis();
+        Hold hold = new Hold(UUID.randomUUID().toString(), storeId, userId, seats, now, now + holdMs);
+        pendingInserts.add(hold);
+        pendingHolds.computeIfAbsent(storeId, id -> new AtomicInteger()).incrementAndGet();
+        holds.put(hold.id, hold);
+        hold.timer = timingWheelScheduler.schedule(holdMs, () -> expire(hold));
+
+        if (store.getOwnerId() != null) {
+            notificationService.sendToUser(String.valueOf(store.getOwnerId()),
+                    new ReservationMessageDto(String.valueOf(storeId), String.valueOf(userId),
+                            seats + "석 예약 요청"));
+        }
+        return hold.toDto();
+    }
+
+    public ReservationDto confirm(String reservationId, Long userId) {
+        return finish(reservationId, userId, ReservationStatus.CONFIRMED);
+    }
+
+    public ReservationDto cancel(String reservationId, Long userId) {
+        return finish(reservationId, userId, ReservationStatus.CANCELLED);
+    }
+
+    public int heldSeats(Long storeId) {
+        return seatStateService.heldSeats(storeId);
+    }
+
+    // 아직 확정·취소·만료되지 않은 예약 건수
+    public int pendingReservations(Long storeId) {
+        AtomicInteger pending = pendingHolds.get(storeId);
+        return pending == null ? 0 : pending.get();
+    }
+
+    public ReservationDto getReservation(String reservationId) {
+        Hold hold = holds.get(reservationId);
+        if (hold != null) {
+            return hold.toDto();
+        }
+        return reservationRepository.findById(reservationId)
+                .map(ReservationService::toDto)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 예약입니다."));
+    }
+
+    public List<ReservationDto> getUserReservations(Long userId) {
+        return reservationRepository.findTop50ByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(r -> {
+                    Hold hold = holds.get(r.getReservationId());
+                    return hold != null ? hold.toDto() : toDto(r);
+                })
+                .collect(Collectors.toList());
+    }
+
+    private ReservationDto finish(String reservationId, Long userId, ReservationStatus status) {
+        Hold hold = holds.get(reservationId);
+        if (hold == null) {
+            throw new IllegalArgumentException("진행 중인 예약이 없습니다.");
+        }
+        if (!hold.userId.equals(userId)) {
+            throw new IllegalArgumentException("본인의 예약만 변경할 수 있습니다.");
+        }
+        if (!settle(hold, status)) {
+            throw new IllegalStateException("이미 " + hold.status.get() + " 상태인 예약입니다.");
+        }
+        return hold.toDto();
+    }
+
+    private void expire(Hold hold) {
+        settle(hold, ReservationStatus.EXPIRED);
+    }
+
+    // 상태는 CAS 로 한 번만 바꾼다: HELD → 확정/취소/만료, 확정 → 취소 (도착 전에 취소한 경우).
+    // 확정/취소/만료가 겹쳐도 좌석은 release 에서 한 번만 돌려준다
+    private boolean settle(Hold hold, ReservationStatus status) {
+        if (hold.status.compareAndSet(ReservationStatus.HELD, status)) {
+            pendingHolds.get(hold.storeId).decrementAndGet();
+        } else if (status != ReservationStatus.CANCELLED
+                || !hold.status.compareAndSet(ReservationStatus.CONFIRMED, status)) {
+            return false;
+        }
+        TimingWheelScheduler.Timeout timer = hold.timer;
+        if (timer != null) {
+            timer.cancel();
+        }
+        if (status == ReservationStatus.CONFIRMED) {
+            hold.arriving = true;
+            seatStateService.confirm(hold.storeId, hold.seats);
+            hold.timer = timingWheelScheduler.schedule(arrivalMs, () -> release(hold));
+        } else {
+            release(hold);
+        }
+        pendingUpdates.add(hold);
+        return true;
+    }
+
+    private void release(Hold hold) {
+        if (hold.released.compareAndSet(false, true)) {
+            if (hold.arriving) {
+                seatStateService.releaseArriving(hold.storeId, hold.seats);
+            } else {
+                seatStateService.release(hold.storeId, hold.seats);
+            }
+            holds.remove(hold.id);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${zari.reservation.flush-ms:1000}")
+    public void flush() {
+        List<Hold> inserts = drain(pendingInserts);
+        List<Hold> retries = drain(failedInserts);
+        List<Hold> updates = drain(pendingUpdates);
+
+        if (!retries.isEmpty()) {
+            // 지난번에 들어간 행은 update 로 최신 상태만 맞추고, 없는 행만 다시 insert 한다
+            try {
+                int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, statusArgs(retries));
+                for (int i = 0; i < updated.length; i++) {
+                    if (updated[i] == 0) {
+                        inserts.add(retries.get(i));
+                    }
+                }
+            } catch (RuntimeException e) {
+                failedInserts.addAll(retries);
+                System.out.println("예약 재저장 실패 (" + retries.size() + "건): " + e.getMessage());
+            }
+        }
+        if (!inserts.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts, 500, (ps, h) -> {
+                    ps.setString(1, h.id);
+                    ps.setLong(2, h.storeId);
+                    ps.setLong(3, h.userId);
+                    ps.setInt(4, h.seats);
+                    // 저장 전에 이미 끝난 홀드면 최종 상태로 바로 넣는다
+                    ps.setString(5, h.status.get().name());
+                    ps.setLong(6, h.createdAt);
+                    ps.setLong(7, h.expiresAt);
+                });
+            } catch (RuntimeException e) {
+                failedInserts.addAll(inserts);
+                System.out.println("예약 저장 실패 (" + inserts.size() + "건, 다음 주기에 재시도): " + e.getMessage());
+            }
+        }
+        if (!updates.isEmpty()) {
+            // 행이 아직 없으면 0건으로 끝나지만, 다시 쓰는 insert 가 그때의 최종 상태를 넣는다
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, statusArgs(updates));
+            } catch (RuntimeException e) {
+                pendingUpdates.addAll(updates);
+                System.out.println("예약 상태 저장 실패 (" + updates.size() + "건, 다음 주기에 재시도): " + e.getMessage());
+            }
+        }
+    }
+
+    private static List<Object[]> statusArgs(List<Hold> holds) {
+        List<Object[]> args = new ArrayList<>(holds.size());
+        for (Hold h : holds) {
+            args.add(new Object[]{h.status.get().name(), h.id});
+        }
+        return args;
+    }
+
+    private static List<Hold> drain(ConcurrentLinkedQueue<Hold> queue) {
+        List<Hold> out = new ArrayList<>();
+        Hold h;
+        while ((h = queue.poll()) != null) {
+            out.add(h);
+        }
+        return out;
+    }
+
+    private static ReservationDto toDto(Reservation r) {
+        return ReservationDto.builder()
+                .reservationId(r.getReservationId())
+                .storeId(r.getStoreId())
+                .userId(r.getUserId())
+                .seats(r.getSeats())
+                .status(r.getStatus())
+                .createdAt(r.getCreatedAt())
+                .expiresAt(r.getExpiresAt())
+                .build();
+    }
+
+    private static final class Hold {
+        private final String id;
+        private final Long storeId;
+        private final Long userId;
+        private final int seats;
+        private final long createdAt;
+        private final long expiresAt;
+        private final AtomicReference<ReservationStatus> status = new AtomicReference<>(ReservationStatus.HELD);
+        private final AtomicBoolean released = new AtomicBoolean();
+        // 확정돼서 도착 대기로 넘어간 홀드
+        private volatile boolean arriving;
+        // 잡혀 있는 동안은 만료 타이머, 확정 뒤에는 좌석을 돌려줄 도착 타이머
+        private volatile TimingWheelScheduler.Timeout timer;
+
+        Hold(String id, Long storeId, Long userId, int seats, long createdAt, long expiresAt) {
+            this.id = id;
+            this.storeId = storeId;
+            this.userId = userId;
+            this.seats = seats;
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+        }
+
+        ReservationDto toDto() {
+            return ReservationDto.builder()
+                    .reservationId(id)
+                    .storeId(storeId)
+                    .userId(userId)
+                    .seats(seats)
+                    .status(status.get())
+                    .createdAt(createdAt)
+                    .expiresAt(expiresAt)
+                    .build();
+        }
+    }
+}
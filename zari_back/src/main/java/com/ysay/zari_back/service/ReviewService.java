@@ -0,0 +1,83 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.ReviewCreateDto;
+import com.ysay.zari_back.dto.ReviewDto;
+import com.ysay.zari_back.entity.Review;
+import com.ysay.zari_back.entity.User;
+import com.ysay.zari_back.repository.ReviewRepository;
+import com.ysay.zari_back.repository.StoreRepository;
+import com.ysay.zari_back.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+// 리뷰 작성·조회.
+// 매장 평점은 store.review_count / rating_sum 을 리뷰 insert 와 같은 트랜잭션에서 원자적으로 더해서 유지한다.
+// 목록·상세는 그 컬럼만 읽으므로 평점 때문에 리뷰 테이블을 훑지 않는다.
+@Service
+@RequiredArgsConstructor
+public class ReviewService {
+
+    private static final int MAX_COMMENT_LENGTH = 1000;
+
+    private final ReviewRepository reviewRepository;
+    private final StoreRepository storeRepository;
+    private final UserRepository userRepository;
+    private final StoreDetailCache storeDetailCache;
+    private final StoreGeoIndex storeGeoIndex;
+
+    @Transactional
+    public ReviewDto createReview(Long storeId, Long userId, ReviewCreateDto dto) {
+        if (dto.getRating() < 1 || dto.getRating() > 5) {
+            throw new IllegalArgumentException("평점은 1~5 사이여야 합니다.");
+        }
+        if (dto.getComment() == null || dto.getComment().isBlank() || dto.getComment().length() > MAX_COMMENT_LENGTH) {
+            throw new IllegalArgumentException("리뷰 내용은 1~" + MAX_COMMENT_LENGTH + "자여야 합니다.");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
+        if (storeRepository.addRating(storeId, dto.getRating()) == 0) {
+            throw new IllegalArgumentException("해당 매장이 존재하지 않습니다.");
+        }
+
+        Review review = Review.builder()
+                .rating(dto.getRating())
+                .comment(dto.getComment())
+                .store(storeRepository.getReferenceById(storeId))
+                .user(user)
+                .build();
+        reviewRepository.save(review);
+
+        Object[] rating = storeRepository.findRating(storeId).get(0);
+        refreshAfterCommit(storeId, ((Number) rating[0]).intValue(), ((Number) rating[1]).longValue());
+
+        return ReviewDto.builder()
+                .reviewId(review.getReviewId())
+                .rating(review.getRating())
+                .comment(review.getComment())
+                .createdAt(review.getCreatedAt())
+                .userId(user.getUserId())
+                .nickname(user.getNickname())
+                .build();
+    }
+
+    public List<ReviewDto> getReviews(Long storeId, Long cursor, int size) {
+        return reviewRepository.findPageByStore(storeId, cursor == null ? Long.MAX_VALUE : cursor, Limit.of(size));
+    }
+
+    // 커밋된 뒤에만 상세 캐시를 비우고 근처 매장 인덱스의 평점을 바꾼다
+    private void refreshAfterCommit(Long storeId, int reviewCount, long ratingSum) {
+        storeDetailCache.invalidateAfterCommit(storeId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                storeGeoIndex.updateRating(storeId, reviewCount, StoreService.averageRating(reviewCount, ratingSum));
+            }
+        });
+    }
+}
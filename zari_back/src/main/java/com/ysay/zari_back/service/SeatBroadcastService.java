@@ -0,0 +1,21 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.SeatDeltaDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class SeatBroadcastService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public static String seatTopic(Long storeId) {
+        return "/topic/stores/" + storeId + "/seats";
+    }
+
+    public void onDelta(SeatDeltaDto delta) {
+        messagingTemplate.convertAndSend(seatTopic(delta.getStoreId()), delta);
+    }
+}
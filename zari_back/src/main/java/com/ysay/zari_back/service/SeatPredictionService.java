@@ -0,0 +1,169 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.SeatPredictionDto;
+import com.ysay.zari_back.entity.RollupResolution;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.ConcurrentHashMap;
+
+// N분 뒤 빈 좌석 수 예측.
+// 매장마다 (요일 x 15분 슬롯) 점유율 EWMA 를 기본형 배열로 들고,
+// 프레임마다 현재 슬롯의 합계만 더하다가 슬롯이 넘어갈 때 평균을 EWMA 에 한 번 반영한다.
+// 따로 학습 작업 없이 갱신·예측 모두 O(1) 이다.
+// 서버가 뜰 때 occupancy_rollup 의 15분 버킷으로 최근 몇 주치를 다시 반영해 재시작해도 이력이 남는다.
+@Service
+public class SeatPredictionService {
+
+    private static final long SLOT_MILLIS = 15 * 60_000L;
+    private static final long DAY_MILLIS = 24 * 60 * 60_000L;
+    private static final int SLOTS_PER_DAY = (int) (DAY_MILLIS / SLOT_MILLIS);
+    private static final int SLOTS = 7 * SLOTS_PER_DAY;
+
+    // 지금의 이탈 정도가 예측 시점까지 이어지는 정도 (분)
+    private static final double PERSISTENCE_MINUTES = 30d;
+
+    private static final String SEED_SQL =
+            "select store_id, bucket_start, occupied_sum, seat_sum from occupancy_rollup " +
+            "where resolution = 'QUARTER_HOUR' and bucket_start >= ? and bucket_start < ? " +
+            "order by bucket_start";
+
+    private final ConcurrentHashMap<Long, Model> models = new ConcurrentHashMap<>(256);
+    private final JdbcTemplate jdbcTemplate;
+    // 서머타임이 있는 지역이면 시각마다 오프셋이 달라지므로 매번 규칙에서 구한다
+    private final ZoneRules zoneRules;
+
+    @Value("${zari.prediction.alpha:0.3}")
+    private float alpha;
+
+    @Value("${zari.prediction.seed-weeks:8}")
+    private int seedWeeks;
+
+    public SeatPredictionService(JdbcTemplate jdbcTemplate,
+                                 @Value("${zari.timezone:Asia/Seoul}") String timezone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.zoneRules = ZoneId.of(timezone).getRules();
+    }
+
+    // 지금 열려 있는 버킷은 아직 다 차지 않았으므로 빼고, 오래된 것부터 EWMA 에 넣는다
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedFromRollups() {
+        long to = RollupResolution.QUARTER_HOUR.bucketStart(System.currentTimeMillis());
+        long from = to - seedWeeks * 7 * DAY_MILLIS;
+        int[] rows = new int[1];
+        try {
+            jdbcTemplate.query(SEED_SQL, (RowCallbackHandler) rs -> {
+                long seatSum = rs.getLong(4);
+                if (seatSum > 0) {
+                    models.computeIfAbsent(rs.getLong(1), k -> new Model())
+                            .seed(slotOf(rs.getLong(2)), (float) rs.getLong(3) / seatSum, alpha);
+                    rows[0]++;
+                }
+            }, from, to);
+            System.out.println("좌석 예측 모델 초기화: 15분 버킷 " + rows[0] + "개, 매장 " + models.size() + "개");
+        } catch (RuntimeException e) {
+            System.out.println("좌석 예측 모델 초기화 실패: " + e.getMessage());
+        }
+    }
+
+    public void observe(Long storeId, long timestamp, int occupied, int totalSeats) {
+        if (totalSeats <= 0) {
+            return;
+        }
+        models.computeIfAbsent(storeId, k -> new Model())
+                .observe(slotOf(timestamp), (float) occupied / totalSeats, alpha);
+    }
+
+    public SeatPredictionDto predict(Long storeId, int minutes, int totalSeats, int freeSeats) {
+        SeatPredictionDto.SeatPredictionDtoBuilder result = SeatPredictionDto.builder()
+                .storeId(storeId)
+                .minutes(minutes)
+                .totalSeats(totalSeats)
+                .currentFreeSeats(freeSeats)
+                .predictedFreeSeats(freeSeats);
+
+        Model model = models.get(storeId);
+        if (model == null || totalSeats <= 0) {
+            return result.build();
+        }
+
+        long now = System.currentTimeMillis();
+        double current = (double) (totalSeats - freeSeats) / totalSeats;
+        double ratio = model.predict(slotOf(now), slotOf(now + minutes * 60_000L), current,
+                Math.exp(-minutes / PERSISTENCE_MINUTES));
+        int predictedFree = (int) Math.round(totalSeats * (1 - Math.min(1, Math.max(0, ratio))));
+
+        return result
+                .predictedFreeSeats(predictedFree)
+                .history(model.weeks(slotOf(now + minutes * 60_000L)))
+                .build();
+    }
+
+    private int slotOf(long timestamp) {
+        long local = timestamp + zoneRules.getOffset(Instant.ofEpochMilli(timestamp)).getTotalSeconds() * 1000L;
+        long day = Math.floorDiv(local, DAY_MILLIS);
+        int weekday = (int) Math.floorMod(day + 3, 7);  // 1970-01-01 은 목요일, 월요일 = 0
+        int slotOfDay = (int) (Math.floorMod(local, DAY_MILLIS) / SLOT_MILLIS);
+        return weekday * SLOTS_PER_DAY + slotOfDay;
+    }
+
+    private static final class Model {
+        private final float[] ewma = new float[SLOTS];
+        private final short[] weeks = new short[SLOTS];
+
+        private int currentSlot = -1;
+        private double sum;
+        private int count;
+
+        synchronized void observe(int slot, float ratio, float alpha) {
+            if (slot != currentSlot) {
+                fold(alpha);
+                currentSlot = slot;
+            }
+            sum += ratio;
+            count++;
+        }
+
+        synchronized double predict(int nowSlot, int targetSlot, double current, double persistence) {
+            double target = weeks[targetSlot] > 0 ? ewma[targetSlot] : current;
+            double expectedNow = weeks[nowSlot] > 0 ? ewma[nowSlot] : current;
+            return target + (current - expectedNow) * persistence;
+        }
+
+        // 저장된 15분 버킷 평균 하나를 그 슬롯에 바로 반영한다
+        synchronized void seed(int slot, float mean, float alpha) {
+            update(slot, mean, alpha);
+        }
+
+        synchronized int weeks(int slot) {
+            return weeks[slot];
+        }
+
+        private void fold(float alpha) {
+            if (currentSlot < 0 || count == 0) {
+                return;
+            }
+            update(currentSlot, (float) (sum / count), alpha);
+            sum = 0;
+            count = 0;
+        }
+
+        private void update(int slot, float mean, float alpha) {
+            if (weeks[slot] == 0) {
+                ewma[slot] = mean;
+            } else {
+                ewma[slot] += alpha * (mean - ewma[slot]);
+            }
+            if (weeks[slot] < Short.MAX_VALUE) {
+                weeks[slot]++;
+            }
+        }
+    }
+}
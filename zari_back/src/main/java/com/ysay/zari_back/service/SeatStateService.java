@@ -0,0 +1,198 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.DetectionFrame;
+import com.ysay.zari_back.dto.SeatDeltaDto;
+import com.ysay.zari_back.dto.SeatSnapshotDto;
+import com.ysay.zari_back.dto.SeatStatusDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiPredicate;
+
+// 매장별 좌석 점유 상태 엔진.
+// 매장마다 StoreSeatState 하나를 두고 그 객체 단위로만 잠그므로
+// 여러 카메라가 동시에 올려도 서로 다른 매장끼리는 경합하지 않는다.
+// 카메라마다 끊김 감지 타이머를 하나만 걸어 두고, 울렸을 때 그 사이 프레임이 왔으면 남은 시간만큼 다시 건다
+// (프레임마다 타이머를 다시 걸지 않는다).
+// 끊긴 카메라의 좌석은 타이머 스레드에서 바로 지우지 않고 staleHandler 로 그 매장의 파티션 큐에 넣어
+// 파티션 워커가 지우고 변경분을 보내게 한다 (한 매장의 변경분은 한 스레드에서만 나가야 seq 순서가 지켜진다).
+// 상태와 seq 는 이 JVM 에만 있다. 노드를 여러 개 띄우면 한 매장의 프레임은 한 노드로만 보내야
+// 매장별 seq 가 하나로 이어진다 (노드마다 따로 세면 클라이언트가 변경분 순서를 맞출 수 없다).
+@Service
+public class SeatStateService {
+
+    // 수집 큐가 가득 차서 끊긴 카메라를 넘기지 못했을 때 다시 시도하는 간격
+    private static final long STALE_RETRY_MS = 1_000;
+
+    private final ConcurrentHashMap<Long, StoreSeatState> states = new ConcurrentHashMap<>(256);
+    private final ConcurrentHashMap<FrameKey, CameraWatch> cameras = new ConcurrentHashMap<>(256);
+    private final TimingWheelScheduler timingWheelScheduler;
+    // (storeId, cameraId) 를 파티션 큐에 넣는다. 큐가 가득 차면 false
+    private volatile BiPredicate<Long, Integer> staleHandler;
+
+    @Value("${zari.seat.ttl-ms:600000}")
+    private long seatTtlMs;
+
+    @Value("${zari.seat.hysteresis-frames:3}")
+    private int hysteresisFrames;
+
+    @Value("${zari.seat.camera-stale-ms:60000}")
+    private long cameraStaleMs;
+
+    public SeatStateService(TimingWheelScheduler timingWheelScheduler) {
+        this.timingWheelScheduler = timingWheelScheduler;
+    }
+
+    public void onCameraStale(BiPredicate<Long, Integer> handler) {
+        this.staleHandler = handler;
+    }
+
+    // 변경분이 없으면 null. 변경분은 호출한 파티션 워커가 보낸다
+    public SeatDeltaDto apply(DetectionFrame frame) {
+        StoreSeatState state = states.computeIfAbsent(frame.getStoreId(), StoreSeatState::new);
+        watch(state, frame.getCameraId());
+        return state.apply(frame.getCameraId(), frame.getTimestamp(),
+                frame.getChairs(), frame.getChairCount(), frame.getPersons(), frame.getPersonCount(),
+                seatTtlMs, hysteresisFrames);
+    }
+
+    private void watch(StoreSeatState state, int cameraId) {
+        CameraWatch watch = cameras.computeIfAbsent(new FrameKey(state.getStoreId(), cameraId),
+                k -> new CameraWatch(state, cameraId));
+        watch.lastSeenAt = System.currentTimeMillis();
+        if (watch.armed.compareAndSet(false, true)) {
+            timingWheelScheduler.schedule(cameraStaleMs, () -> checkCamera(watch));
+        }
+    }
+
+    private void checkCamera(CameraWatch watch) {
+        long idle = System.currentTimeMillis() - watch.lastSeenAt;
+        if (idle < cameraStaleMs) {
+            timingWheelScheduler.schedule(cameraStaleMs - idle, () -> checkCamera(watch));
+            return;
+        }
+        // armed 를 먼저 내리고 lastSeenAt 을 다시 읽는다. 위 검사 뒤에 온 프레임은 armed 가 아직 true 라
+        // 타이머를 다시 걸지 않았으므로, 여기서 살아 있는 것으로 보이면 대신 건다
+        watch.armed.set(false);
+        idle = System.currentTimeMillis() - watch.lastSeenAt;
+        if (idle < cameraStaleMs) {
+            if (watch.armed.compareAndSet(false, true)) {
+                timingWheelScheduler.schedule(cameraStaleMs - idle, () -> checkCamera(watch));
+            }
+            return;
+        }
+        BiPredicate<Long, Integer> handler = staleHandler;
+        if (handler == null) {
+            dropStaleCamera(watch.state.getStoreId(), watch.cameraId);
+        } else if (!handler.test(watch.state.getStoreId(), watch.cameraId)
+                && watch.armed.compareAndSet(false, true)) {
+            timingWheelScheduler.schedule(STALE_RETRY_MS, () -> checkCamera(watch));
+        }
+    }
+
+    // 파티션 워커에서 호출. 큐에서 기다리는 사이 카메라가 다시 보고했으면 지우지 않는다 (null)
+    public SeatDeltaDto dropStaleCamera(Long storeId, int cameraId) {
+        CameraWatch watch = cameras.get(new FrameKey(storeId, cameraId));
+        if (watch == null || System.currentTimeMillis() - watch.lastSeenAt < cameraStaleMs) {
+            return null;
+        }
+        SeatDeltaDto delta = watch.state.dropCamera(cameraId);
+        if (delta != null) {
+            System.out.println("카메라 보고 끊김: store=" + storeId
+                    + " camera=" + cameraId + " 좌석 " + delta.getRemoved().size() + "개 제거");
+        }
+        return delta;
+    }
+
+    public int freeSeats(Long storeId) {
+        StoreSeatState state = states.get(storeId);
+        return state == null ? 0 : state.freeSeats();
+    }
+
+    public int availableSeats(Long storeId) {
+        StoreSeatState state = states.get(storeId);
+        return state == null ? 0 : state.availableSeats();
+    }
+
+    public int heldSeats(Long storeId) {
+        StoreSeatState state = states.get(storeId);
+        return state == null ? 0 : state.heldSeats();
+    }
+
+    // 카메라가 아직 한 번도 보고하지 않은 매장은 빈 좌석이 없으므로 잡을 수 없다
+    public boolean tryHold(Long storeId, int seats) {
+        StoreSeatState state = states.get(storeId);
+        return state != null && state.tryHold(seats);
+    }
+
+    public void release(Long storeId, int seats) {
+        StoreSeatState state = states.get(storeId);
+        if (state != null) {
+            state.release(seats);
+        }
+    }
+
+    public void confirm(Long storeId, int seats) {
+        StoreSeatState state = states.get(storeId);
+        if (state != null) {
+            state.confirm(seats);
+        }
+    }
+
+    public void releaseArriving(Long storeId, int seats) {
+        StoreSeatState state = states.get(storeId);
+        if (state != null) {
+            state.releaseArriving(seats);
+        }
+    }
+
+    public int totalSeats(Long storeId) {
+        StoreSeatState state = states.get(storeId);
+        return state == null ? 0 : state.totalSeats();
+    }
+
+    public long seq(Long storeId) {
+        StoreSeatState state = states.get(storeId);
+        return state == null ? 0 : state.seq();
+    }
+
+    public StoreSeatState.Dwell dwell(Long storeId) {
+        StoreSeatState state = states.get(storeId);
+        return state == null ? StoreSeatState.Dwell.NONE : state.dwell();
+    }
+
+    public SeatStatusDto getStatus(Long storeId) {
+        StoreSeatState state = states.get(storeId);
+        return SeatStatusDto.builder()
+                .storeId(storeId)
+                .totalSeats(state == null ? 0 : state.totalSeats())
+                .freeSeats(state == null ? 0 : state.availableSeats())
+                .build();
+    }
+
+    public SeatSnapshotDto getSnapshot(Long storeId) {
+        StoreSeatState state = states.get(storeId);
+        if (state == null) {
+            return SeatSnapshotDto.builder()
+                    .storeId(storeId)
+                    .seats(List.of())
+                    .build();
+        }
+        return state.snapshot();
+    }
+
+    private static final class CameraWatch {
+        private final StoreSeatState state;
+        private final int cameraId;
+        private final AtomicBoolean armed = new AtomicBoolean();
+        private volatile long lastSeenAt;
+
+        CameraWatch(StoreSeatState state, int cameraId) {
+            this.state = state;
+            this.cameraId = cameraId;
+        }
+    }
+}
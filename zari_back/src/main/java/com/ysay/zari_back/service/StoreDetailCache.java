@@ -0,0 +1,73 @@
+package com.ysay.zari_back.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ysay.zari_back.dto.CacheStatsDto;
+import com.ysay.zari_back.dto.StoreDetailDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// 완성된 StoreDetailDto 를 매장 단위로 캐시한다.
+// 크기와 TTL 로 밀어내고, 매장이나 메뉴가 바뀌면 해당 매장만 무효화한다.
+@Service
+public class StoreDetailCache {
+
+    private final Cache<Long, StoreDetailDto> cache;
+
+    // 무효화될 때마다 올라가는 매장별 버전 (ETag 용). 재시작 후 값이 겹치지 않게 기동 시각을 같이 쓴다
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+    private final long epoch = System.currentTimeMillis();
+
+    public StoreDetailCache(@Value("${zari.cache.store-detail.max-size:10000}") long maxSize,
+                            @Value("${zari.cache.store-detail.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public StoreDetailDto get(Long storeId, Function<Long, StoreDetailDto> loader) {
+        return cache.get(storeId, loader);
+    }
+
+    public void invalidate(Long storeId) {
+        versions.merge(storeId, 1L, Long::sum);
+        cache.invalidate(storeId);
+    }
+
+    // 트랜잭션 안이면 커밋 직후에 한 번 더 지운다 (커밋 전 값을 다시 읽어 캐시하는 경우 방지)
+    public void invalidateAfterCommit(Long storeId) {
+        invalidate(storeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(storeId);
+                }
+            });
+        }
+    }
+
+    public String version(Long storeId) {
+        return Long.toString(epoch, 36) + "." + versions.getOrDefault(storeId, 0L);
+    }
+
+    public CacheStatsDto getStats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+}
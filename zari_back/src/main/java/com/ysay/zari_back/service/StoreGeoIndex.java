@@ -0,0 +1,170 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.StoreNearbyDto;
+import com.ysay.zari_back.dto.StoreSimpleDto;
+import com.ysay.zari_back.entity.StoreCategory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 위도·경도를 고정 크기 격자로 나눈 매장 공간 인덱스.
+// 셀마다 매장 배열을 두고 쓰기 때는 배열을 새로 만들어 바꿔 끼우므로 조회는 락 없이 읽는다.
+@Service
+public class StoreGeoIndex {
+
+    private static final double EARTH_RADIUS_M = 6_371_000d;
+    private static final double METERS_PER_DEGREE = 111_320d;
+
+    private final ConcurrentHashMap<Long, Entry[]> cells = new ConcurrentHashMap<>(1024);
+    private final ConcurrentHashMap<Long, Entry> byStoreId = new ConcurrentHashMap<>(1024);
+
+    @Value("${zari.geo.cell-degrees:0.01}")
+    private double cellDegrees;
+
+    @Value("${zari.geo.max-radius-m:20000}")
+    private double maxRadius;
+
+    public int size() {
+        return byStoreId.size();
+    }
+
+    // 메모리에 올라와 있는 매장 요약. 없으면 null
+    public StoreSimpleDto get(Long storeId) {
+        Entry entry = byStoreId.get(storeId);
+        return entry == null ? null : entry.store;
+    }
+
+    public synchronized void put(StoreSimpleDto store, double latitude, double longitude) {
+        Entry entry = new Entry(store, latitude, longitude);
+        Entry old = byStoreId.put(store.getStoreId(), entry);
+        if (old != null) {
+            removeFromCell(old);
+        }
+        cells.compute(cellKey(latitude, longitude), (k, arr) -> {
+            if (arr == null) {
+                return new Entry[]{entry};
+            }
+            Entry[] next = Arrays.copyOf(arr, arr.length + 1);
+            next[arr.length] = entry;
+            return next;
+        });
+    }
+
+    // 리뷰가 늘 때 요약의 평점만 바꾼다. 커밋 순서가 뒤집혀 도착한 오래된 집계는 무시한다
+    public synchronized void updateRating(Long storeId, int reviewCount, double averageRating) {
+        Entry old = byStoreId.get(storeId);
+        if (old == null || old.store.getReviewCount() > reviewCount) {
+            return;
+        }
+        StoreSimpleDto store = old.store;
+        put(StoreSimpleDto.builder()
+                .storeId(store.getStoreId())
+                .storeName(store.getStoreName())
+                .ownerId(store.getOwnerId())
+                .category(store.getCategory())
+                .storeAddress(store.getStoreAddress())
+                .imageUrl(store.getImageUrl())
+                .reviewCount(reviewCount)
+                .averageRating(averageRating)
+                .build(), old.latitude, old.longitude);
+    }
+
+    public synchronized void remove(Long storeId) {
+        Entry old = byStoreId.remove(storeId);
+        if (old != null) {
+            removeFromCell(old);
+        }
+    }
+
+    // 반경 안의 매장을 가까운 순으로 돌려준다. category 가 null 이면 전체
+    public List<StoreNearbyDto> findNearby(double lat, double lng, double radius,
+                                           StoreCategory category, int limit) {
+        double r = Math.min(Math.max(radius, 0), maxRadius);
+        double latSpan = r / METERS_PER_DEGREE;
+        double lngSpan = r / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+
+        long minLat = cell(lat - latSpan);
+        long maxLat = cell(lat + latSpan);
+        long minLng = cell(lng - lngSpan);
+        long maxLng = cell(lng + lngSpan);
+
+        List<StoreNearbyDto> result = new ArrayList<>();
+        for (long cy = minLat; cy <= maxLat; cy++) {
+            for (long cx = minLng; cx <= maxLng; cx++) {
+                Entry[] arr = cells.get(key(cy, cx));
+                if (arr == null) {
+                    continue;
+                }
+                for (Entry e : arr) {
+                    if (category != null && e.store.getCategory() != category) {
+                        continue;
+                    }
+                    double d = distance(lat, lng, e.latitude, e.longitude);
+                    if (d <= r) {
+                        result.add(StoreNearbyDto.builder()
+                                .store(e.store)
+                                .latitude(e.latitude)
+                                .longitude(e.longitude)
+                                .distance(d)
+                                .build());
+                    }
+                }
+            }
+        }
+
+        result.sort(Comparator.comparingDouble(StoreNearbyDto::getDistance));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    // 하버사인 거리 (미터)
+    public static double distance(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void removeFromCell(Entry old) {
+        cells.computeIfPresent(cellKey(old.latitude, old.longitude), (k, arr) -> {
+            int idx = -1;
+            for (int i = 0; i < arr.length; i++) {
+                if (arr[i] == old) {
+                    idx = i;
+                    break;
+                }
+            }
+            if (idx < 0) {
+                return arr;
+            }
+            if (arr.length == 1) {
+                return null;
+            }
+            Entry[] next = new Entry[arr.length - 1];
+            System.arraycopy(arr, 0, next, 0, idx);
+            System.arraycopy(arr, idx + 1, next, idx, arr.length - idx - 1);
+            return next;
+        });
+    }
+
+    private long cell(double degrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+
+    private long cellKey(double lat, double lng) {
+        return key(cell(lat), cell(lng));
+    }
+
+    private static long key(long latCell, long lngCell) {
+        return (latCell << 32) ^ (lngCell & 0xFFFFFFFFL);
+    }
+
+    private record Entry(StoreSimpleDto store, double latitude, double longitude) {
+    }
+}
@@ -0,0 +1,346 @@
+package com.ysay.zari_back.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ysay.zari_back.dto.ImportErrorDto;
+import com.ysay.zari_back.dto.ImportResultDto;
+import com.ysay.zari_back.dto.MenuRegisterDto;
+import com.ysay.zari_back.dto.StoreImportDto;
+import com.ysay.zari_back.dto.StoreSimpleDto;
+import com.ysay.zari_back.entity.StoreCategory;
+import com.ysay.zari_back.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// 매장·메뉴 대량 등록.
+// 입력(NDJSON 또는 CSV)을 한 줄씩 읽어 검증하고, batch-size 개씩 모아서
+// 매장은 JDBC batch insert + generated keys, 메뉴는 그 키로 다시 batch insert 한다.
+// IDENTITY 키라 Hibernate 배치가 안 되므로 JdbcTemplate 으로 직접 넣는다. 배치마다 트랜잭션 하나.
+@Service
+public class StoreImportService {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // storeName,storeAddress,storePhone,category,latitude,longitude,menuName,menuPrice
+    private static final int CSV_COLUMNS = 8;
+
+    private static final String INSERT_STORE_SQL =
+            "insert into store (user_id, store_name, store_address, store_phone, category, latitude, longitude, " +
+            "review_count, rating_sum) values (?, ?, ?, ?, ?, ?, ?, 0, 0)";
+    private static final String INSERT_MENU_SQL =
+            "insert into menu (store_id, name, price) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final StoreGeoIndex storeGeoIndex;
+    private final StoreSearchIndex storeSearchIndex;
+    private final ObjectReader storeReader;
+
+    @Value("${zari.import.batch-size:500}")
+    private int batchSize;
+
+    public StoreImportService(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              UserRepository userRepository,
+                              StoreGeoIndex storeGeoIndex,
+                              StoreSearchIndex storeSearchIndex,
+                              ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.storeGeoIndex = storeGeoIndex;
+        this.storeSearchIndex = storeSearchIndex;
+        this.storeReader = objectMapper.readerFor(StoreImportDto.class);
+    }
+
+    public ImportResultDto importStores(Long userId, String contentType, BufferedReader reader) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("존재하지 않는 사용자입니다.");
+        }
+        Job job = new Job(userId);
+        if (contentType != null && contentType.startsWith(CSV)) {
+            readCsv(reader, job);
+        } else {
+            readNdjson(reader, job);
+        }
+        job.flush();
+        return ImportResultDto.builder()
+                .storesImported(job.stores)
+                .menusImported(job.menus)
+                .failedRows(job.failed)
+                .errors(job.errors)
+                .build();
+    }
+
+    private void readNdjson(BufferedReader reader, Job job) throws IOException {
+        String line;
+        long lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                job.add(lineNo, storeReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                job.error(lineNo, "JSON 파싱 실패: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // 같은 매장(이름·주소·전화)이 연속된 행은 한 매장의 메뉴로 묶는다. 첫 줄은 헤더
+    private void readCsv(BufferedReader reader, Job job) throws IOException {
+        String line = reader.readLine();
+        long lineNo = 1;
+        StoreImportDto current = null;
+        long currentLine = 0;
+        String currentKey = null;
+
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> cols = parseCsvLine(line);
+            if (cols.size() < CSV_COLUMNS - 2) {
+                job.error(lineNo, "컬럼 수가 부족합니다.");
+                continue;
+            }
+            String key = cols.get(0) + '\u0000' + cols.get(1) + '\u0000' + cols.get(2);
+            if (!key.equals(currentKey)) {
+                if (current != null) {
+                    job.add(currentLine, current);
+                }
+                try {
+                    current = toStore(cols);
+                    currentKey = key;
+                    currentLine = lineNo;
+                } catch (IllegalArgumentException e) {
+                    job.error(lineNo, e.getMessage());
+                    current = null;
+                    currentKey = null;
+                    continue;
+                }
+            }
+            if (cols.size() >= CSV_COLUMNS && !cols.get(6).isBlank()) {
+                try {
+                    MenuRegisterDto menu = new MenuRegisterDto();
+                    menu.setName(cols.get(6));
+                    menu.setPrice(Integer.parseInt(cols.get(7).trim()));
+                    current.getMenus().add(menu);
+                } catch (NumberFormatException e) {
+                    job.error(lineNo, "메뉴 가격이 올바르지 않습니다: " + cols.get(7));
+                }
+            }
+        }
+        if (current != null) {
+            job.add(currentLine, current);
+        }
+    }
+
+    private static StoreImportDto toStore(List<String> cols) {
+        StoreImportDto dto = new StoreImportDto();
+        dto.setStoreName(cols.get(0));
+        dto.setStoreAddress(cols.get(1));
+        dto.setStorePhone(cols.get(2));
+        try {
+            dto.setCategory(StoreCategory.valueOf(cols.get(3).trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("알 수 없는 카테고리입니다: " + cols.get(3));
+        }
+        try {
+            dto.setLatitude(Double.parseDouble(cols.get(4).trim()));
+            dto.setLongitude(Double.parseDouble(cols.get(5).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("위도/경도가 올바르지 않습니다.");
+        }
+        return dto;
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> cols = new ArrayList<>(CSV_COLUMNS);
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        sb.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    sb.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cols.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        cols.add(sb.toString());
+        return cols;
+    }
+
+    private static String validate(StoreImportDto dto) {
+        if (isBlank(dto.getStoreName()) || isBlank(dto.getStoreAddress()) || isBlank(dto.getStorePhone())) {
+            return "매장 이름, 주소, 전화번호는 필수입니다.";
+        }
+        if (dto.getCategory() == null) {
+            return "카테고리는 필수입니다.";
+        }
+        if (Math.abs(dto.getLatitude()) > 90 || Math.abs(dto.getLongitude()) > 180) {
+            return "위도/경도 범위를 벗어났습니다.";
+        }
+        if (dto.getMenus() != null) {
+            for (MenuRegisterDto menu : dto.getMenus()) {
+                if (menu == null || isBlank(menu.getName()) || menu.getPrice() < 0) {
+                    return "메뉴 이름과 가격이 올바르지 않습니다.";
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    // 한 번의 가져오기 작업 상태
+    private final class Job {
+        private final Long userId;
+        private final List<StoreImportDto> pending = new ArrayList<>();
+        private final List<Long> pendingLines = new ArrayList<>();
+        private final List<ImportErrorDto> errors = new ArrayList<>();
+        private int stores;
+        private int menus;
+        private int failed;
+
+        Job(Long userId) {
+            this.userId = userId;
+        }
+
+        void add(long line, StoreImportDto dto) {
+            String error = validate(dto);
+            if (error != null) {
+                error(line, error);
+                return;
+            }
+            pending.add(dto);
+            pendingLines.add(line);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void error(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportErrorDto(line, message));
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                long[] ids = transactionTemplate.execute(status -> insertBatch(userId, pending));
+                for (int i = 0; i < pending.size(); i++) {
+                    StoreImportDto dto = pending.get(i);
+                    stores++;
+                    menus += dto.getMenus() == null ? 0 : dto.getMenus().size();
+                    storeGeoIndex.put(StoreSimpleDto.builder()
+                            .storeId(ids[i])
+                            .storeName(dto.getStoreName())
+                            .ownerId(userId)
+                            .category(dto.getCategory())
+                            .storeAddress(dto.getStoreAddress())
+                            .build(), dto.getLatitude(), dto.getLongitude());
+                    storeSearchIndex.addStore(ids[i], dto.getStoreName(), dto.getStoreAddress());
+                    if (dto.getMenus() != null) {
+                        for (MenuRegisterDto menu : dto.getMenus()) {
+                            storeSearchIndex.addMenu(ids[i], menu.getName());
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                for (Long line : pendingLines) {
+                    error(line, "저장 실패: " + e.getMessage());
+                }
+            } finally {
+                pending.clear();
+                pendingLines.clear();
+            }
+        }
+    }
+
+    private long[] insertBatch(Long userId, List<StoreImportDto> batch) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_STORE_SQL, new String[]{"store_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        StoreImportDto dto = batch.get(i);
+                        ps.setLong(1, userId);
+                        ps.setString(2, dto.getStoreName());
+                        ps.setString(3, dto.getStoreAddress());
+                        ps.setString(4, dto.getStorePhone());
+                        ps.setString(5, dto.getCategory().name());
+                        ps.setDouble(6, dto.getLatitude());
+                        ps.setDouble(7, dto.getLongitude());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != batch.size()) {
+            throw new IllegalStateException("생성된 매장 키 개수가 맞지 않습니다.");
+        }
+        long[] ids = new long[batch.size()];
+        List<Object[]> menuRows = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ids[i] = ((Number) keys.get(i).values().iterator().next()).longValue();
+            List<MenuRegisterDto> menus = batch.get(i).getMenus();
+            if (menus == null) {
+                continue;
+            }
+            for (MenuRegisterDto menu : menus) {
+                menuRows.add(new Object[]{ids[i], menu.getName(), menu.getPrice()});
+            }
+        }
+        if (!menuRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_MENU_SQL, menuRows);
+        }
+        return ids;
+    }
+}
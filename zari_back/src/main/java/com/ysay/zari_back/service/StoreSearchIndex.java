@@ -0,0 +1,223 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.StoreSearchResultDto;
+import com.ysay.zari_back.dto.StoreSimpleDto;
+import com.ysay.zari_back.entity.StoreCategory;
+import com.ysay.zari_back.repository.MenuRepository;
+import com.ysay.zari_back.repository.StoreRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// 매장 이름·주소·메뉴 이름 역색인.
+// 부분 일치는 1/2-gram 포스팅 교집합으로, 입력 중인 접두어는 자모(초성) 문자열 정렬 맵의 범위 조회로 찾는다.
+// 점수는 필드 가중치(이름 > 메뉴 > 주소)의 합이고, 카테고리와 매장 요약은 StoreGeoIndex 에서 읽는다.
+// 매장·메뉴 등록 때 바로 추가되며, 서버가 뜰 때 이름·주소·메뉴 컬럼만 읽어 한 번 채운다.
+@Service
+@RequiredArgsConstructor
+public class StoreSearchIndex {
+
+    private static final double PREFIX_BONUS = 0.5;
+    private static final double EXACT_BONUS = 2.0;
+    // 짧은 접두어("ㄱ")가 색인 전체를 훑지 않게 범위 조회를 여기서 끊는다
+    private static final int MAX_PREFIX_SCAN = 500;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private enum Field {
+        NAME(3.0), MENU(2.0), ADDRESS(1.0);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private final StoreRepository storeRepository;
+    private final MenuRepository menuRepository;
+    private final StoreGeoIndex storeGeoIndex;
+
+    @SuppressWarnings("unchecked")
+    private final Map<String, Set<Long>>[] postings = new Map[]{
+            new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>()};
+    // "자모\0필드\0원문" → 후보. 같은 단어라도 매장 이름과 메뉴는 가중치가 달라 따로 둔다
+    private final ConcurrentSkipListMap<String, Suggestion> jamoWords = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Suggestion> choseongWords = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, String> storeNames = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        for (Object[] row : storeRepository.findSearchFields()) {
+            addStore((Long) row[0], (String) row[1], (String) row[2]);
+        }
+        for (Object[] row : menuRepository.findStoreMenuNames()) {
+            addMenu((Long) row[0], (String) row[1]);
+        }
+        System.out.println("매장 검색 색인 구성 완료: " + storeNames.size() + "개 매장");
+    }
+
+    public void addStore(Long storeId, String storeName, String storeAddress) {
+        storeNames.put(storeId, KoreanTokenizer.normalize(storeName));
+        index(Field.NAME, storeId, storeName);
+        index(Field.ADDRESS, storeId, storeAddress);
+        suggest(Field.NAME, storeId, storeName);
+    }
+
+    public void addMenu(Long storeId, String menuName) {
+        index(Field.MENU, storeId, menuName);
+        suggest(Field.MENU, storeId, menuName);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<StoreSearchResultDto> search(String query, StoreCategory category, int limit) {
+        String q = KoreanTokenizer.normalize(query);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Double> scores = new HashMap<>();
+
+        List<String> grams = KoreanTokenizer.ngrams(q);
+        for (Field field : FIELDS) {
+            for (Long id : intersect(postings[field.ordinal()], grams)) {
+                scores.merge(id, field.weight, Double::sum);
+            }
+        }
+        // 한 매장의 같은 필드가 여러 후보("교촌", "교촌치킨")로 걸려도 가산점은 한 번만
+        Set<Long>[] prefixed = new Set[]{new HashSet<>(), new HashSet<>(), new HashSet<>()};
+        for (Suggestion s : prefixMatches(q)) {
+            for (Long id : s.storeIds) {
+                if (prefixed[s.field.ordinal()].add(id)) {
+                    scores.merge(id, s.field.weight * PREFIX_BONUS, Double::sum);
+                }
+            }
+        }
+
+        List<StoreSearchResultDto> results = new ArrayList<>();
+        for (Map.Entry<Long, Double> e : scores.entrySet()) {
+            StoreSimpleDto store = storeGeoIndex.get(e.getKey());
+            if (store == null || (category != null && store.getCategory() != category)) {
+                continue;
+            }
+            double score = e.getValue();
+            if (q.equals(storeNames.get(e.getKey()))) {
+                score += EXACT_BONUS;
+            }
+            results.add(StoreSearchResultDto.builder().store(store).score(score).build());
+        }
+        results.sort(Comparator.comparingDouble(StoreSearchResultDto::getScore).reversed()
+                .thenComparing(r -> -r.getStore().getReviewCount())
+                .thenComparing(r -> r.getStore().getStoreId()));
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    // 자동완성: 입력 중인 접두어로 시작하는 매장·메뉴 이름. 해당 매장이 많은 것부터
+    public List<String> suggest(String query, int limit) {
+        String q = KoreanTokenizer.normalize(query);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Integer> texts = new LinkedHashMap<>();
+        for (Suggestion s : prefixMatches(q)) {
+            texts.merge(s.text, s.storeIds.size(), Integer::sum);
+        }
+        return texts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private List<Suggestion> prefixMatches(String q) {
+        List<Suggestion> out = new ArrayList<>();
+        scanPrefix(jamoWords, KoreanTokenizer.jamo(q), out);
+        if (KoreanTokenizer.isChoseongOnly(q)) {
+            scanPrefix(choseongWords, q, out);
+        }
+        return out;
+    }
+
+    private static void scanPrefix(ConcurrentSkipListMap<String, Suggestion> words, String prefix,
+                                   List<Suggestion> out) {
+        int scanned = 0;
+        for (Suggestion s : words.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            out.add(s);
+            if (++scanned >= MAX_PREFIX_SCAN) {
+                break;
+            }
+        }
+    }
+
+    // 가장 작은 포스팅부터 거른다
+    private static Set<Long> intersect(Map<String, Set<Long>> index, List<String> grams) {
+        Set<Long> smallest = null;
+        for (String gram : grams) {
+            Set<Long> set = index.get(gram);
+            if (set == null) {
+                return Set.of();
+            }
+            if (smallest == null || set.size() < smallest.size()) {
+                smallest = set;
+            }
+        }
+        if (smallest == null) {
+            return Set.of();
+        }
+        Set<Long> out = new HashSet<>();
+        outer:
+        for (Long id : smallest) {
+            for (String gram : grams) {
+                if (!index.get(gram).contains(id)) {
+                    continue outer;
+                }
+            }
+            out.add(id);
+        }
+        return out;
+    }
+
+    private void index(Field field, Long storeId, String text) {
+        String n = KoreanTokenizer.normalize(text);
+        Map<String, Set<Long>> index = postings[field.ordinal()];
+        for (int i = 0; i < n.length(); i++) {
+            index.computeIfAbsent(n.substring(i, i + 1), k -> ConcurrentHashMap.newKeySet()).add(storeId);
+        }
+        for (String gram : KoreanTokenizer.ngrams(n)) {
+            index.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(storeId);
+        }
+    }
+
+    private void suggest(Field field, Long storeId, String text) {
+        for (String word : KoreanTokenizer.words(text)) {
+            String suffix = KEY_SEPARATOR + field.name() + KEY_SEPARATOR + word;
+            jamoWords.computeIfAbsent(KoreanTokenizer.jamo(word) + suffix,
+                    k -> new Suggestion(word, field)).storeIds.add(storeId);
+            choseongWords.computeIfAbsent(KoreanTokenizer.choseong(word) + suffix,
+                    k -> new Suggestion(word, field)).storeIds.add(storeId);
+        }
+    }
+
+    private static final class Suggestion {
+        private final String text;
+        private final Field field;
+        private final Set<Long> storeIds = ConcurrentHashMap.newKeySet();
+
+        Suggestion(String text, Field field) {
+            this.text = text;
+            this.field = field;
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.SeatDeltaDto;
+import com.ysay.zari_back.dto.SeatDto;
+import com.ysay.zari_back.dto.SeatSnapshotDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 매장 하나의 좌석 점유 상태.
+// 좌석 정보는 전부 기본형 배열에 두고, 쓰기는 매장 단위 락(this)으로 직렬화한다.
+// 빈 좌석 수 조회는 volatile 필드만 읽으므로 락도 할당도 없다.
+// 예약으로 잡힌 좌석은 락 밖에서 CAS 로만 늘리고 줄이며, 밖으로 내보내는 빈 좌석 수에서는 빼고 보여 준다.
+// 확정된 예약 좌석은 손님이 앉을 때까지 잡아 두다가, 카메라가 새로 앉은 좌석을 보면 그 수만큼 돌려준다
+// (누가 앉았는지는 모르므로 좌석 수로만 맞춘다. 빈 좌석과 잡힌 좌석이 함께 줄어 보여 주는 빈 좌석 수는 그대로다).
+public final class StoreSeatState {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final long storeId;
+
+    private int seatCount;
+    private int nextSeatId = 1;
+    private int frameMark;
+    private volatile long seq;
+
+    private int cameraCount;
+    private int[] knownCameras = new int[4];
+    private long[] cameraFrameAt = new long[4];
+
+    private int[] seatIds = new int[INITIAL_CAPACITY];
+    private int[] cameraIds = new int[INITIAL_CAPACITY];
+    private int[] centerX = new int[INITIAL_CAPACITY];
+    private int[] centerY = new int[INITIAL_CAPACITY];
+    private int[] halfW = new int[INITIAL_CAPACITY];
+    private int[] halfH = new int[INITIAL_CAPACITY];
+    private boolean[] occupied = new boolean[INITIAL_CAPACITY];
+    private long[] lastSeenAt = new long[INITIAL_CAPACITY];
+    private boolean[] candidate = new boolean[INITIAL_CAPACITY];
+    private int[] streak = new int[INITIAL_CAPACITY];
+    private int[] seenMark = new int[INITIAL_CAPACITY];
+    private long[] occupiedSince = new long[INITIAL_CAPACITY];
+
+    private volatile int totalSeats;
+    private volatile int freeSeats;
+    // 점유 → 빈자리로 끝난 체류의 누적 (건수, 합계). 끝날 때만 새 객체로 바꾼다
+    private volatile Dwell dwell = Dwell.NONE;
+    private final AtomicInteger heldSeats = new AtomicInteger();
+    // heldSeats 중 확정돼서 손님이 오기를 기다리는 좌석
+    private final AtomicInteger arrivingSeats = new AtomicInteger();
+
+    public StoreSeatState(long storeId) {
+        this.storeId = storeId;
+    }
+
+    public long getStoreId() {
+        return storeId;
+    }
+
+    public int totalSeats() {
+        return totalSeats;
+    }
+
+    public int freeSeats() {
+        return freeSeats;
+    }
+
+    // 예약분을 뺀, 손님에게 보여 줄 빈 좌석 수
+    public int availableSeats() {
+        return Math.max(freeSeats - heldSeats.get(), 0);
+    }
+
+    public int heldSeats() {
+        return heldSeats.get();
+    }
+
+    // 카메라가 본 빈 좌석에서 이미 잡힌 좌석을 뺀 만큼만 잡는다.
+    // 마지막 한 자리를 두 명이 동시에 잡아도 CAS 는 한 명만 성공한다
+    public boolean tryHold(int seats) {
+        while (true) {
+            int current = heldSeats.get();
+            if (freeSeats - current < seats) {
+                return false;
+            }
+            if (heldSeats.compareAndSet(current, current + seats)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(int seats) {
+        heldSeats.addAndGet(-seats);
+    }
+
+    // 잡아 둔 좌석을 도착 대기로 돌린다 (잡힌 좌석 수는 그대로)
+    public void confirm(int seats) {
+        arrivingSeats.addAndGet(seats);
+    }
+
+    // 도착 대기 좌석에서 최대 seats 개를 빼고 그만큼 잡힌 좌석을 돌려준다. 실제로 돌려준 수를 반환한다.
+    // 손님이 앉아서 이미 빠진 만큼은 도착 시간이 지나거나 취소돼도 다시 빼지 않는다
+    public int releaseArriving(int seats) {
+        while (true) {
+            int current = arrivingSeats.get();
+            int n = Math.min(current, seats);
+            if (n <= 0) {
+                return 0;
+            }
+            if (arrivingSeats.compareAndSet(current, current - n)) {
+                heldSeats.addAndGet(-n);
+                return n;
+            }
+        }
+    }
+
+    public long seq() {
+        return seq;
+    }
+
+    public Dwell dwell() {
+        return dwell;
+    }
+
+    // chairs, persons 는 [x1, y1, x2, y2] 가 연속으로 들어 있는 배열
+    // 관측값이 hysteresis 프레임 연속으로 유지돼야 상태를 바꾼다 (좌석 깜빡임 방지).
+    // 변경분은 락 안에서 seq 를 붙여 만들어 돌려주기만 하고 (없으면 null), 보내는 건 호출한 쪽이 락 밖에서 한다.
+    // 한 매장의 프레임은 한 파티션 워커가 차례로 처리하므로 그 워커가 받은 순서대로 보내면 seq 순서가 유지된다.
+    public synchronized SeatDeltaDto apply(int cameraId, long timestamp,
+                                           int[] chairs, int chairCount,
+                                           int[] persons, int personCount,
+                                           long seatTtlMs, int hysteresis) {
+        if (!advanceCamera(cameraId, timestamp)) {
+            return null;
+        }
+        int mark = ++frameMark;
+        int seated = 0;
+        List<SeatDto> delta = null;
+        List<Integer> removed = null;
+
+        for (int i = 0; i < chairCount; i++) {
+            int o = i << 2;
+            int x1 = chairs[o], y1 = chairs[o + 1], x2 = chairs[o + 2], y2 = chairs[o + 3];
+            int cx = (x1 + x2) >> 1;
+            int cy = (y1 + y2) >> 1;
+            int hw = Math.max(1, (x2 - x1) >> 1);
+            int hh = Math.max(1, (y2 - y1) >> 1);
+            boolean occ = personInside(cx, cy, hw, hh, persons, personCount);
+
+            int seat = findSeat(cameraId, cx, cy, Math.min(hw, hh), mark);
+            if (seat < 0) {
+                seat = addSeat(cameraId, cx, cy, hw, hh, occ);
+                occupiedSince[seat] = timestamp;
+                delta = record(delta, seat);
+            } else if (observe(seat, occ, hysteresis)) {
+                trackDwell(seat, timestamp);
+                if (occ) {
+                    seated++;
+                }
+                delta = record(delta, seat);
+            }
+            seenMark[seat] = mark;
+            lastSeenAt[seat] = timestamp;
+        }
+
+        // 이번 프레임에서 의자가 안 잡힌 좌석: 사람에 가려진 경우가 대부분이라
+        // 좌석 영역 안에 사람이 있으면 점유로 보고, 오래 안 보이면 좌석을 지운다.
+        for (int s = 0; s < seatCount; s++) {
+            if (cameraIds[s] != cameraId || seenMark[s] == mark) {
+                continue;
+            }
+            if (personInside(centerX[s], centerY[s], halfW[s], halfH[s], persons, personCount)) {
+                lastSeenAt[s] = timestamp;
+                if (observe(s, true, hysteresis)) {
+                    trackDwell(s, timestamp);
+                    seated++;
+                    delta = record(delta, s);
+                }
+            } else if (timestamp - lastSeenAt[s] > seatTtlMs) {
+                if (removed == null) {
+                    removed = new ArrayList<>();
+                }
+                removed.add(seatIds[s]);
+                removeSeat(s);
+                s--;
+            }
+        }
+
+        recount();
+        if (seated > 0) {
+            releaseArriving(seated);
+        }
+        if (delta == null && removed == null) {
+            return null;
+        }
+        return nextDelta(delta == null ? List.of() : delta, removed == null ? List.of() : removed);
+    }
+
+    // 보고가 끊긴 카메라의 좌석을 모두 지운다. 지운 좌석이 없으면 null
+    public synchronized SeatDeltaDto dropCamera(int cameraId) {
+        List<Integer> removed = null;
+        for (int s = 0; s < seatCount; s++) {
+            if (cameraIds[s] != cameraId) {
+                continue;
+            }
+            if (removed == null) {
+                removed = new ArrayList<>();
+            }
+            removed.add(seatIds[s]);
+            removeSeat(s);
+            s--;
+        }
+        if (removed == null) {
+            return null;
+        }
+        recount();
+        return nextDelta(List.of(), removed);
+    }
+
+    private SeatDeltaDto nextDelta(List<SeatDto> changed, List<Integer> removed) {
+        return SeatDeltaDto.builder()
+                .storeId(storeId)
+                .seq(++seq)
+                .totalSeats(totalSeats)
+                .freeSeats(availableSeats())
+                .changed(changed)
+                .removed(removed)
+                .build();
+    }
+
+    public synchronized SeatSnapshotDto snapshot() {
+        List<SeatDto> seats = new ArrayList<>(seatCount);
+        for (int s = 0; s < seatCount; s++) {
+            seats.add(toDto(s));
+        }
+        return SeatSnapshotDto.builder()
+                .storeId(storeId)
+                .seq(seq)
+                .totalSeats(totalSeats)
+                .freeSeats(availableSeats())
+                .seats(seats)
+                .build();
+    }
+
+    // 좌석 상태가 막 바뀌었을 때 호출. 앉으면 시작 시각을 적고, 비면 그동안의 체류 시간을 더한다
+    private void trackDwell(int s, long timestamp) {
+        if (occupied[s]) {
+            occupiedSince[s] = timestamp;
+            return;
+        }
+        Dwell d = dwell;
+        dwell = new Dwell(d.count() + 1, d.totalMs() + Math.max(0, timestamp - occupiedSince[s]));
+    }
+
+    private List<SeatDto> record(List<SeatDto> delta, int s) {
+        if (delta == null) {
+            delta = new ArrayList<>();
+        }
+        delta.add(toDto(s));
+        return delta;
+    }
+
+    private SeatDto toDto(int s) {
+        return SeatDto.builder()
+                .seatId(seatIds[s])
+                .cameraId(cameraIds[s])
+                .x(centerX[s])
+                .y(centerY[s])
+                .occupied(occupied[s])
+                .build();
+    }
+
+    // 같은 카메라에서 이미 처리한 프레임보다 오래된 프레임은 버린다
+    private boolean advanceCamera(int cameraId, long timestamp) {
+        for (int i = 0; i < cameraCount; i++) {
+            if (knownCameras[i] == cameraId) {
+                if (timestamp < cameraFrameAt[i]) {
+                    return false;
+                }
+                cameraFrameAt[i] = timestamp;
+                return true;
+            }
+        }
+        if (cameraCount == knownCameras.length) {
+            knownCameras = Arrays.copyOf(knownCameras, cameraCount << 1);
+            cameraFrameAt = Arrays.copyOf(cameraFrameAt, cameraCount << 1);
+        }
+        knownCameras[cameraCount] = cameraId;
+        cameraFrameAt[cameraCount] = timestamp;
+        cameraCount++;
+        return true;
+    }
+
+    private boolean observe(int s, boolean occ, int hysteresis) {
+        if (occupied[s] == occ) {
+            streak[s] = 0;
+            return false;
+        }
+        if (streak[s] == 0 || candidate[s] != occ) {
+            candidate[s] = occ;
+            streak[s] = 1;
+        } else {
+            streak[s]++;
+        }
+        if (streak[s] < hysteresis) {
+            return false;
+        }
+        occupied[s] = occ;
+        streak[s] = 0;
+        return true;
+    }
+
+    // 의자 박스를 10% 넓힌 영역 안에 사람 박스의 중심이 있으면 점유로 본다 (카메라 서버와 같은 기준)
+    private static boolean personInside(int cx, int cy, int hw, int hh, int[] persons, int personCount) {
+        int mx = hw + hw / 5;
+        int my = hh + hh / 5;
+        for (int p = 0; p < personCount; p++) {
+            int o = p << 2;
+            int px = (persons[o] + persons[o + 2]) >> 1;
+            int py = (persons[o + 1] + persons[o + 3]) >> 1;
+            if (px >= cx - mx && px <= cx + mx && py >= cy - my && py <= cy + my) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int findSeat(int cameraId, int cx, int cy, int tolerance, int mark) {
+        long limit = (long) tolerance * tolerance;
+        long best = Long.MAX_VALUE;
+        int found = -1;
+        for (int s = 0; s < seatCount; s++) {
+            if (cameraIds[s] != cameraId || seenMark[s] == mark) {
+                continue;
+            }
+            long dx = centerX[s] - cx;
+            long dy = centerY[s] - cy;
+            long d = dx * dx + dy * dy;
+            if (d <= limit && d < best) {
+                best = d;
+                found = s;
+            }
+        }
+        return found;
+    }
+
+    private int addSeat(int cameraId, int cx, int cy, int hw, int hh, boolean occ) {
+        if (seatCount == seatIds.length) {
+            grow();
+        }
+        int s = seatCount++;
+        seatIds[s] = nextSeatId++;
+        cameraIds[s] = cameraId;
+        centerX[s] = cx;
+        centerY[s] = cy;
+        halfW[s] = hw;
+        halfH[s] = hh;
+        occupied[s] = occ;
+        streak[s] = 0;
+        return s;
+    }
+
+    private void removeSeat(int s) {
+        int last = --seatCount;
+        seatIds[s] = seatIds[last];
+        cameraIds[s] = cameraIds[last];
+        centerX[s] = centerX[last];
+        centerY[s] = centerY[last];
+        halfW[s] = halfW[last];
+        halfH[s] = halfH[last];
+        occupied[s] = occupied[last];
+        lastSeenAt[s] = lastSeenAt[last];
+        seenMark[s] = seenMark[last];
+        candidate[s] = candidate[last];
+        streak[s] = streak[last];
+        occupiedSince[s] = occupiedSince[last];
+    }
+
+    private void grow() {
+        int n = seatIds.length << 1;
+        seatIds = Arrays.copyOf(seatIds, n);
+        cameraIds = Arrays.copyOf(cameraIds, n);
+        centerX = Arrays.copyOf(centerX, n);
+        centerY = Arrays.copyOf(centerY, n);
+        halfW = Arrays.copyOf(halfW, n);
+        halfH = Arrays.copyOf(halfH, n);
+        occupied = Arrays.copyOf(occupied, n);
+        lastSeenAt = Arrays.copyOf(lastSeenAt, n);
+        seenMark = Arrays.copyOf(seenMark, n);
+        candidate = Arrays.copyOf(candidate, n);
+        streak = Arrays.copyOf(streak, n);
+        occupiedSince = Arrays.copyOf(occupiedSince, n);
+    }
+
+    private void recount() {
+        int free = 0;
+        for (int s = 0; s < seatCount; s++) {
+            if (!occupied[s]) {
+                free++;
+            }
+        }
+        totalSeats = seatCount;
+        freeSeats = free;
+    }
+
+    public record Dwell(long count, long totalMs) {
+        public static final Dwell NONE = new Dwell(0, 0);
+    }
+}
@@ -1,17 +1,28 @@
 package com.ysay.zari_back.service;
 
+import com.ysay.zari_back.dto.CacheStatsDto;
 import com.ysay.zari_back.dto.MenuSimpleDto;
+import com.ysay.zari_back.dto.SeatSnapshotDto;
 import com.ysay.zari_back.dto.StoreDetailDto;
+import com.ysay.zari_back.dto.StoreNearbyDto;
 import com.ysay.zari_back.dto.StoreRegisterDto;
+import com.ysay.zari_back.dto.StoreSearchResultDto;
 import com.ysay.zari_back.dto.StoreSimpleDto;
+import com.ysay.zari_back.dto.StoreSnapshotDto;
 import com.ysay.zari_back.entity.Store;
+import com.ysay.zari_back.entity.StoreCategory;
 import com.ysay.zari_back.entity.User;
 import com.ysay.zari_back.repository.StoreRepository;
 import com.ysay.zari_back.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,17 +34,21 @@ public class StoreService {
 
     private final StoreRepository storeRepository;
     private final UserRepository userRepository;
-    private final GCSService gcsService;
+    private final ImageUploadService imageUploadService;
+    private final StoreGeoIndex storeGeoIndex;
+    private final StoreSearchIndex storeSearchIndex;
+    private final StoreDetailCache storeDetailCache;
+    private final SeatStateService seatStateService;
 
     @Transactional
     public void registerStore(StoreRegisterDto dto, Long userId, MultipartFile imageFile) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
 
-        String imageUrl = null;
+        ImageUploadService.StagedImage image = null;
         if (imageFile != null && !imageFile.isEmpty()) {
             try {
-                imageUrl = gcsService.uploadFile(imageFile);
+                image = imageUploadService.stageUpload(imageFile);
             } catch (IOException e) {
                 throw new RuntimeException("이미지 업로드 실패", e);
             }
@@ -47,28 +62,98 @@ public class StoreService {
                 .latitude(dto.getLatitude())
                 .longitude(dto.getLongitude())
                 .owner(user)
-                .imageUrl(imageUrl)
+                .imageUrl(image != null ? image.imageUrl() : null)
+                .thumbnailUrl(image != null ? image.thumbnailUrl() : null)
                 .build();
 
         storeRepository.save(store);
+
+        // 롤백되면 인덱스에 없는 매장이 남으므로 커밋된 뒤에만 넣는다
+        StoreSimpleDto summary = toSimpleDto(store);
+        double latitude = store.getLatitude();
+        double longitude = store.getLongitude();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                storeGeoIndex.put(summary, latitude, longitude);
+                storeSearchIndex.addStore(summary.getStoreId(), summary.getStoreName(), summary.getStoreAddress());
+            }
+        });
     }
 
+    // 서버가 뜰 때 공간 인덱스를 한 번 채운다. owner 는 지연 로딩 프록시라 id 만 읽고 사용자를 조회하지 않는다
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildGeoIndex() {
+        storeRepository.findAll()
+                .forEach(store -> storeGeoIndex.put(toSimpleDto(store), store.getLatitude(), store.getLongitude()));
+        System.out.println("매장 공간 인덱스 구성 완료: " + storeGeoIndex.size() + "개");
+    }
 
-    public List<StoreSimpleDto> getAllStores() {
-        return storeRepository.findAll().stream()
-                .map(store -> StoreSimpleDto.builder()
-                        .storeId(store.getStoreId())
-                        .storeName(store.getStoreName())
-                        .ownerId(store.getOwner().getUserId())
-                        .category(store.getCategory())
-                        .storeAddress(store.getStoreAddress())
-                        .imageUrl(store.getImageUrl())
+
+    public List<StoreSimpleDto> getStores(Long cursor, int size, StoreCategory category) {
+        return storeRepository.findSimplePage(cursor == null ? 0L : cursor, category, Limit.of(size));
+    }
+
+    public List<StoreSimpleDto> getOwnedStores(Long ownerId) {
+        return storeRepository.findSimpleByOwner(ownerId);
+    }
+
+    public List<StoreSearchResultDto> searchStores(String query, StoreCategory category, int limit) {
+        return storeSearchIndex.search(query, category, limit);
+    }
+
+    public List<String> suggestStores(String query, int limit) {
+        return storeSearchIndex.suggest(query, limit);
+    }
+
+    // 빈 좌석 수는 예약으로 잡힌 좌석을 뺀 값이다
+    public List<StoreNearbyDto> getNearbyStores(double lat, double lng, double radius,
+                                                StoreCategory category, int limit) {
+        return storeGeoIndex.findNearby(lat, lng, radius, category, limit).stream()
+                .map(n -> StoreNearbyDto.builder()
+                        .store(n.getStore())
+                        .latitude(n.getLatitude())
+                        .longitude(n.getLongitude())
+                        .distance(n.getDistance())
+                        .freeSeats(seatStateService.availableSeats(n.getStore().getStoreId()))
                         .build())
                 .collect(Collectors.toList());
     }
 
     public StoreDetailDto getStoreDetail(Long storeId) {
-        Store store = storeRepository.findById(storeId)
+        return storeDetailCache.get(storeId, this::loadStoreDetail);
+    }
+
+    // 매장 상세 + 현재 좌석 상태. ETag 는 상세 캐시 버전, 좌석 seq, 예약으로 잡힌 좌석 수만으로 만들어 본문 없이 비교할 수 있다
+    // (홀드는 seq 를 올리지 않으므로 잡힌 좌석 수가 바뀌어도 ETag 가 달라지게 한다)
+    public String getSnapshotETag(Long storeId) {
+        return snapshotETag(storeId, storeDetailCache.version(storeId), seatStateService.seq(storeId),
+                seatStateService.heldSeats(storeId));
+    }
+
+    // 버전을 먼저 읽고 본문을 만들어야 ETag 가 본문보다 앞서 나가지 않는다
+    public StoreSnapshotDto getStoreSnapshot(Long storeId) {
+        String detailVersion = storeDetailCache.version(storeId);
+        StoreDetailDto detail = getStoreDetail(storeId);
+        int held = seatStateService.heldSeats(storeId);
+        SeatSnapshotDto seats = seatStateService.getSnapshot(storeId);
+        return StoreSnapshotDto.builder()
+                .store(detail)
+                .seats(seats)
+                .etag(snapshotETag(storeId, detailVersion, seats.getSeq(), held))
+                .build();
+    }
+
+    private String snapshotETag(Long storeId, String detailVersion, long seatSeq, int heldSeats) {
+        return "\"" + storeId + "-" + detailVersion + "-" + seatSeq + "-" + heldSeats + "\"";
+    }
+
+    public CacheStatsDto getDetailCacheStats() {
+        return storeDetailCache.getStats();
+    }
+
+    private StoreDetailDto loadStoreDetail(Long storeId) {
+        Store store = storeRepository.findWithMenusByStoreId(storeId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 매장이 존재하지 않습니다."));
 
         List<MenuSimpleDto> menus = store.getMenus().stream()
@@ -77,6 +162,7 @@ public class StoreService {
                         .name(menu.getName())
                         .price(menu.getPrice())
                         .imageUrl(menu.getImageUrl())
+                        .thumbnailUrl(menu.getThumbnailUrl())
                         .build()
                 ).collect(Collectors.toList());
 
@@ -90,9 +176,27 @@ public class StoreService {
                 .longitude(store.getLongitude())
                 .ownerId(store.getOwner().getUserId())
                 .imageUrl(store.getImageUrl())
+                .reviewCount(store.getReviewCount())
+                .averageRating(averageRating(store.getReviewCount(), store.getRatingSum()))
                 .menus(menus)
                 .build();
     }
 
-}
+    private StoreSimpleDto toSimpleDto(Store store) {
+        return StoreSimpleDto.builder()
+                .storeId(store.getStoreId())
+                .storeName(store.getStoreName())
+                .ownerId(store.getOwner().getUserId())
+                .category(store.getCategory())
+                .storeAddress(store.getStoreAddress())
+                .imageUrl(store.getThumbnailUrl() != null ? store.getThumbnailUrl() : store.getImageUrl())
+                .reviewCount(store.getReviewCount())
+                .averageRating(averageRating(store.getReviewCount(), store.getRatingSum()))
+                .build();
+    }
+
+    public static double averageRating(int reviewCount, long ratingSum) {
+        return reviewCount == 0 ? 0 : (double) ratingSum / reviewCount;
+    }
 
+}
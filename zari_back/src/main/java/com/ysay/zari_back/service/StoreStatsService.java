@@ -0,0 +1,144 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.OwnerDashboardDto;
+import com.ysay.zari_back.dto.StoreDashboardDto;
+import com.ysay.zari_back.dto.StoreSimpleDto;
+import com.ysay.zari_back.dto.StoreStatsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 점주 대시보드용 매장별 실시간 집계.
+// 감지 프레임이 올 때마다 매장 카운터(현재 점유, 오늘 최고 점유, 오늘 체류 시간)만 갱신하고,
+// 주기적으로 전체 매장을 불변 DTO 맵으로 찍어 둔다. 대시보드 조회는 이 맵만 읽으므로 집계 쿼리가 없다.
+@Service
+public class StoreStatsService {
+
+    private final SeatStateService seatStateService;
+    private final ReservationService reservationService;
+    private final StoreService storeService;
+    private final ZoneId zone;
+
+    private final ConcurrentHashMap<Long, Counters> counters = new ConcurrentHashMap<>(256);
+    private volatile Map<Long, StoreStatsDto> snapshot = Map.of();
+    private volatile long snapshotAt;
+
+    public StoreStatsService(SeatStateService seatStateService,
+                             ReservationService reservationService,
+                             StoreService storeService,
+                             @Value("${zari.dashboard.zone:Asia/Seoul}") String zone) {
+        this.seatStateService = seatStateService;
+        this.reservationService = reservationService;
+        this.storeService = storeService;
+        this.zone = ZoneId.of(zone);
+    }
+
+    public void record(Long storeId, long timestamp, int occupied, int totalSeats) {
+        counters.computeIfAbsent(storeId, id -> new Counters())
+                .add(timestamp, occupied, totalSeats, seatStateService.dwell(storeId), zone);
+    }
+
+    @Scheduled(fixedDelayString = "${zari.dashboard.snapshot-ms:5000}")
+    public void snapshot() {
+        long now = System.currentTimeMillis();
+        Map<Long, StoreStatsDto> next = new HashMap<>(counters.size() * 2);
+        for (Map.Entry<Long, Counters> e : counters.entrySet()) {
+            Long storeId = e.getKey();
+            next.put(storeId, e.getValue().toDto(storeId, now, zone,
+                    reservationService.pendingReservations(storeId), reservationService.heldSeats(storeId)));
+        }
+        snapshot = next;
+        snapshotAt = now;
+    }
+
+    // 매장 목록 한 번 + 스냅샷 맵 조회뿐이라 지점 수가 많아도 비용이 거의 같다
+    public OwnerDashboardDto getOwnerDashboard(Long ownerId) {
+        Map<Long, StoreStatsDto> current = snapshot;
+        List<StoreDashboardDto> stores = new ArrayList<>();
+        for (StoreSimpleDto store : storeService.getOwnedStores(ownerId)) {
+            StoreStatsDto stats = current.get(store.getStoreId());
+            stores.add(StoreDashboardDto.builder()
+                    .store(store)
+                    .stats(stats != null ? stats : StoreStatsDto.builder().storeId(store.getStoreId()).build())
+                    .build());
+        }
+        return OwnerDashboardDto.builder()
+                .ownerId(ownerId)
+                .snapshotAt(snapshotAt)
+                .stores(stores)
+                .build();
+    }
+
+    // 매장 하나의 카운터. 같은 매장 프레임끼리만 잠근다
+    private static final class Counters {
+        private long dayStart = Long.MAX_VALUE;
+        private long dayEnd = Long.MIN_VALUE;
+        private int occupied;
+        private int totalSeats;
+        private long updatedAt;
+        private int peakOccupied;
+        private long peakAt;
+        // 체류 누적은 좌석 엔진이 세고, 여기서는 오늘 0시 시점 값을 빼서 오늘 몫만 낸다
+        private StoreSeatState.Dwell dayBase = StoreSeatState.Dwell.NONE;
+        private StoreSeatState.Dwell latest = StoreSeatState.Dwell.NONE;
+
+        synchronized void add(long timestamp, int occupied, int totalSeats,
+                              StoreSeatState.Dwell dwell, ZoneId zone) {
+            roll(timestamp, zone);
+            if (timestamp < dayStart) {
+                return;     // 날짜가 바뀐 뒤 늦게 도착한 전날 프레임
+            }
+            if (timestamp >= updatedAt) {
+                this.occupied = occupied;
+                this.totalSeats = totalSeats;
+                this.updatedAt = timestamp;
+            }
+            if (occupied > peakOccupied) {
+                peakOccupied = occupied;
+                peakAt = timestamp;
+            }
+            latest = dwell;
+        }
+
+        synchronized StoreStatsDto toDto(Long storeId, long now, ZoneId zone, int pending, int held) {
+            roll(now, zone);
+            long visits = latest.count() - dayBase.count();
+            long dwellMs = latest.totalMs() - dayBase.totalMs();
+            return StoreStatsDto.builder()
+                    .storeId(storeId)
+                    .totalSeats(totalSeats)
+                    .occupiedSeats(occupied)
+                    .occupancyRate(totalSeats == 0 ? 0 : (double) occupied / totalSeats)
+                    .todayPeakOccupied(peakOccupied)
+                    .todayPeakAt(peakAt)
+                    .todayVisits(visits)
+                    .averageDwellSeconds(visits == 0 ? 0 : dwellMs / 1000d / visits)
+                    .pendingReservations(pending)
+                    .heldSeats(held)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+
+        // 날짜 경계를 넘으면 오늘 값을 비운다. 경계는 날이 바뀔 때만 다시 계산한다
+        private void roll(long timestamp, ZoneId zone) {
+            if (timestamp < dayEnd) {
+                return;
+            }
+            ZonedDateTime start = Instant.ofEpochMilli(timestamp).atZone(zone).toLocalDate().atStartOfDay(zone);
+            dayStart = start.toInstant().toEpochMilli();
+            dayEnd = start.plusDays(1).toInstant().toEpochMilli();
+            peakOccupied = 0;
+            peakAt = 0;
+            dayBase = latest;
+        }
+    }
+}
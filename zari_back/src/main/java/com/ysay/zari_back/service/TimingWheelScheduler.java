@@ -0,0 +1,200 @@
+package com.ysay.zari_back.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// 짧은 타이머를 대량으로 거는 곳(예약 홀드 만료, 카메라 끊김 감지, 알림 재시도)용 해시 타이밍 휠.
+// 등록·취소는 O(1) 이고 타이머 하나당 할당은 Timeout 객체 하나뿐이다.
+// 등록은 lock-free 스택에 쌓고, 슬롯 배치와 실행은 워커 스레드 하나가 tick 마다 한다.
+// 작업은 워커 스레드에서 바로 돌므로 짧게 끝나야 한다 (오래 걸리면 다른 타이머가 밀린다).
+@Component
+public class TimingWheelScheduler {
+
+    private final long tickMs;
+    private final int mask;
+    private final Bucket[] wheel;
+    private final AtomicReference<Timeout> incoming = new AtomicReference<>();
+    private final LongAdder pending = new LongAdder();
+    private final long startNanos = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    public TimingWheelScheduler(@Value("${zari.timer.tick-ms:10}") long tickMs,
+                                @Value("${zari.timer.wheel-size:4096}") int wheelSize) {
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.tickMs = Math.max(tickMs, 1);
+        this.mask = size - 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.worker = new Thread(this::run, "timing-wheel");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public Timeout schedule(long delayMs, Runnable task) {
+        Timeout timeout = new Timeout(elapsedMs() + Math.max(delayMs, 0), task, pending);
+        pending.increment();
+        Timeout head;
+        do {
+            head = incoming.get();
+            timeout.nextIncoming = head;
+        } while (!incoming.compareAndSet(head, timeout));
+        return timeout;
+    }
+
+    // 아직 실행되지 않은 타이머 수 (취소된 것 제외)
+    public long pending() {
+        return pending.sum();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private long elapsedMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = (tick + 1) * tickMs;
+            long sleep = deadline - elapsedMs();
+            if (sleep > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(sleep));
+                continue;
+            }
+            transferIncoming();
+            expire(wheel[(int) (tick & mask)], deadline);
+            tick++;
+        }
+    }
+
+    private void transferIncoming() {
+        Timeout t = incoming.getAndSet(null);
+        while (t != null) {
+            Timeout next = t.nextIncoming;
+            t.nextIncoming = null;
+            if (t.state == Timeout.WAITING) {
+                long ticks = Math.max(t.deadlineMs / tickMs, tick);
+                t.rounds = (ticks - tick) / wheel.length;
+                wheel[(int) (ticks & mask)].add(t);
+            }
+            t = next;
+        }
+    }
+
+    private void expire(Bucket bucket, long deadline) {
+        Timeout t = bucket.head;
+        while (t != null) {
+            Timeout next = t.next;
+            if (t.state != Timeout.WAITING) {
+                bucket.remove(t);
+            } else if (t.rounds > 0) {
+                t.rounds--;
+            } else if (t.deadlineMs < deadline) {
+                bucket.remove(t);
+                t.expire();
+            }
+            t = next;
+        }
+    }
+
+    public static final class Timeout {
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final long deadlineMs;
+        private final Runnable task;
+        private final LongAdder pending;
+        private volatile int state;
+        private long rounds;
+        private Timeout next;
+        private Timeout prev;
+        private Timeout nextIncoming;
+
+        private Timeout(long deadlineMs, Runnable task, LongAdder pending) {
+            this.deadlineMs = deadlineMs;
+            this.task = task;
+            this.pending = pending;
+        }
+
+        // 이미 실행됐거나 취소된 타이머면 false. 슬롯에서는 워커가 다음에 지나갈 때 뺀다
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, WAITING, CANCELLED)) {
+                return false;
+            }
+            pending.decrement();
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, WAITING, EXPIRED)) {
+                return;
+            }
+            pending.decrement();
+            // 워커 스레드 하나가 모든 타이머를 돌리므로 작업이 Error 를 던져도 여기서 끊는다
+            try {
+                task.run();
+            } catch (Throwable e) {
+                System.out.println("타이머 작업 실패: " + e);
+            }
+        }
+    }
+
+    // 워커 스레드만 건드리는 이중 연결 리스트
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout t) {
+            if (head == null) {
+                head = tail = t;
+            } else {
+                tail.next = t;
+                t.prev = tail;
+                tail = t;
+            }
+        }
+
+        void remove(Timeout t) {
+            Timeout next = t.next;
+            if (t.prev != null) {
+                t.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = t.prev;
+            }
+            if (t == head) {
+                head = next;
+            }
+            if (t == tail) {
+                tail = t.prev;
+            }
+            t.prev = null;
+            t.next = null;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.ysay.zari_back.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysay.zari_back.entity.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// 로그인 때 발급하는 JWT 형식(HS256) 토큰.
+// 검증 키는 kid 별로 메모리에 들고 있고(현재 키 + 교체 전 키), 헤더 세그먼트도 미리 만들어 두므로
+// 검증은 HMAC 한 번과 작은 JSON 파싱뿐이다. DB 는 보지 않는다.
+// 로그아웃한 토큰은 만료될 때까지만 폐기 목록에 두고, 만료 시각에 타이밍 휠이 지운다.
+// 폐기는 revoked_token 테이블에도 써 두고 노드마다 zari.auth.revocation-sync-ms 주기로 읽어 오므로,
+// 다른 노드에서는 최대 그 주기만큼 늦게 막힌다. 폐기된 토큰으로 열린 WebSocket 세션은 ConnectionRegistry 가 닫는다.
+@Service
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    // 다른 노드의 폐기 시각과 커밋 지연을 감안해 직전 동기화보다 조금 앞부터 다시 읽는다
+    private static final long SYNC_OVERLAP_MS = 60_000;
+
+    private static final String INSERT_REVOKED_SQL =
+            "insert into revoked_token (jti, expires_at, revoked_at) values (?, ?, ?)";
+    private static final String SELECT_REVOKED_SQL =
+            "select jti, expires_at from revoked_token where revoked_at >= ? and expires_at > ?";
+    private static final String PURGE_REVOKED_SQL = "delete from revoked_token where expires_at < ?";
+
+    private final ObjectMapper objectMapper;
+    private final TimingWheelScheduler timingWheelScheduler;
+    private final JdbcTemplate jdbcTemplate;
+
+    // kid → 서명 키
+    private final Map<String, SecretKeySpec> keys = new LinkedHashMap<>();
+    // 헤더 세그먼트(base64) → kid
+    private final Map<String, String> headers = new HashMap<>();
+    private final String currentKid;
+    private final String currentHeader;
+    private final ThreadLocal<Map<String, Mac>> macs = ThreadLocal.withInitial(HashMap::new);
+    // jti → 만료 시각
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    // 폐기된 jti 를 받는 쪽 (열린 세션 닫기)
+    private final List<Consumer<String>> revocationListeners = new CopyOnWriteArrayList<>();
+    // 마지막으로 revoked_token 을 읽은 시각. 0 이면 아직 안 읽었으니 만료 전인 것을 전부 읽는다
+    private volatile long lastSync;
+
+    @Value("${zari.auth.token-ttl-ms:86400000}")
+    private long tokenTtlMs;
+
+    // 여러 노드를 띄우면 zari.auth.secret 을 같게 맞춰야 한다. 비어 있으면 실행할 때마다 새로 만든다.
+    // 키를 바꿀 때는 이전 키를 zari.auth.previous-secrets 에 남겨 두면 발급된 토큰이 만료될 때까지 통과한다
+    public TokenService(@Value("${zari.auth.secret:}") String secret,
+                        @Value("${zari.auth.previous-secrets:}") String previousSecrets,
+                        ObjectMapper objectMapper,
+                        TimingWheelScheduler timingWheelScheduler,
+                        JdbcTemplate jdbcTemplate) {
+        this.objectMapper = objectMapper;
+        this.timingWheelScheduler = timingWheelScheduler;
+        this.jdbcTemplate = jdbcTemplate;
+
+        byte[] current;
+        if (secret.isEmpty()) {
+            current = new byte[32];
+            new SecureRandom().nextBytes(current);
+            System.out.println("zari.auth.secret 이 없어 임시 키로 토큰을 서명합니다 (재시작하면 기존 토큰 무효)");
+        } else {
+            current = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.currentKid = addKey(current);
+        this.currentHeader = headerFor(currentKid);
+        for (String previous : previousSecrets.split(",")) {
+            if (!previous.isBlank()) {
+                addKey(previous.trim().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    public String issue(Long userId, Role role) {
+        long now = System.currentTimeMillis();
+        TokenPayload payload = new TokenPayload(String.valueOf(userId), role.name(),
+                now / 1000, (now + tokenTtlMs) / 1000, UUID.randomUUID().toString());
+        try {
+            String signingInput = currentHeader + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(payload));
+            return signingInput + "." + ENCODER.encodeToString(sign(currentKid, signingInput));
+        } catch (IOException e) {
+            throw new IllegalStateException("토큰 발급 실패", e);
+        }
+    }
+
+    // 서명이 맞고 만료 전이며 폐기되지 않았으면 Claims, 아니면 null
+    public Claims verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        if (first <= 0 || second <= first + 1 || token.indexOf('.', second + 1) >= 0) {
+            return null;
+        }
+        String kid = headers.get(token.substring(0, first));
+        if (kid == null) {
+            return null;
+        }
+        try {
+            byte[] signature = DECODER.decode(token.substring(second + 1));
+            if (!MessageDigest.isEqual(sign(kid, token.substring(0, second)), signature)) {
+                return null;
+            }
+            TokenPayload payload = objectMapper.readValue(
+                    DECODER.decode(token.substring(first + 1, second)), TokenPayload.class);
+            long expiresAt = payload.exp() * 1000;
+            if (expiresAt < System.currentTimeMillis() || revoked.containsKey(payload.jti())) {
+                return null;
+            }
+            return new Claims(Long.parseLong(payload.sub()), Role.valueOf(payload.role()), payload.jti(), expiresAt);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // 이 노드에서는 바로 막고, 테이블에 써서 다른 노드도 다음 동기화 때 막게 한다.
+    // 저장이 실패하면 예외를 그대로 올려 로그아웃이 실패로 보이게 한다 (다른 노드에서는 여전히 통과하므로)
+    public void revoke(Claims claims) {
+        long now = System.currentTimeMillis();
+        if (claims.expiresAt() <= now) {
+            return;
+        }
+        markRevoked(claims.jti(), claims.expiresAt());
+        try {
+            jdbcTemplate.update(INSERT_REVOKED_SQL, claims.jti(), claims.expiresAt(), now);
+        } catch (DataIntegrityViolationException e) {
+            // 이미 폐기됨
+        }
+    }
+
+    public void onRevoked(Consumer<String> listener) {
+        revocationListeners.add(listener);
+    }
+
+    // 다른 노드에서 폐기한 토큰을 가져온다
+    @Scheduled(fixedDelayString = "${zari.auth.revocation-sync-ms:5000}")
+    public void syncRevocations() {
+        long now = System.currentTimeMillis();
+        long since = lastSync == 0 ? 0 : lastSync - SYNC_OVERLAP_MS;
+        try {
+            jdbcTemplate.query(SELECT_REVOKED_SQL,
+                    (RowCallbackHandler) rs -> markRevoked(rs.getString(1), rs.getLong(2)), since, now);
+            lastSync = now;
+        } catch (RuntimeException e) {
+            System.out.println("토큰 폐기 목록 동기화 실패: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${zari.auth.revocation-purge-ms:3600000}")
+    public void purgeRevocations() {
+        try {
+            jdbcTemplate.update(PURGE_REVOKED_SQL, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            System.out.println("만료된 폐기 토큰 삭제 실패: " + e.getMessage());
+        }
+    }
+
+    private void markRevoked(String jti, long expiresAt) {
+        long remaining = expiresAt - System.currentTimeMillis();
+        if (remaining <= 0 || revoked.putIfAbsent(jti, expiresAt) != null) {
+            return;
+        }
+        timingWheelScheduler.schedule(remaining, () -> revoked.remove(jti));
+        for (Consumer<String> listener : revocationListeners) {
+            listener.accept(jti);
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        return revoked.containsKey(jti);
+    }
+
+    public int revokedCount() {
+        return revoked.size();
+    }
+
+    private String addKey(byte[] secret) {
+        String kid;
+        try {
+            kid = ENCODER.encodeToString(MessageDigest.getInstance("SHA-256").digest(secret)).substring(0, 8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        keys.put(kid, new SecretKeySpec(secret, ALGORITHM));
+        headers.put(headerFor(kid), kid);
+        return kid;
+    }
+
+    private static String headerFor(String kid) {
+        String json = "{\"alg\":\"HS256\",\"typ\":\"JWT\",\"kid\":\"" + kid + "\"}";
+        return ENCODER.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] sign(String kid, String signingInput) {
+        Mac mac = macs.get().computeIfAbsent(kid, k -> {
+            try {
+                Mac m = Mac.getInstance(ALGORITHM);
+                m.init(keys.get(k));
+                return m;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public record Claims(Long userId, Role role, String jti, long expiresAt) {
+    }
+
+    // 표준 JWT 클레임 이름 (초 단위 iat, exp)
+    record TokenPayload(String sub, String role, long iat, long exp, String jti) {
+    }
+}
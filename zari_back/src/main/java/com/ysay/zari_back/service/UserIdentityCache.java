@@ -0,0 +1,57 @@
+package com.ysay.zari_back.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ysay.zari_back.dto.UserIdentityDto;
+import com.ysay.zari_back.entity.User;
+import com.ysay.zari_back.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+// 이메일 → 사용자 식별 정보(id, 역할, 비밀번호 해시) 캐시. 로그인마다 findByEmail 하지 않게 한다.
+// 없는 이메일은 캐시하지 않는다 (방금 다른 노드에서 가입했을 수 있으므로 매번 DB 에서 다시 본다).
+@Service
+public class UserIdentityCache {
+
+    private final Cache<String, UserIdentityDto> cache;
+    private final UserRepository userRepository;
+
+    public UserIdentityCache(UserRepository userRepository,
+                             @Value("${zari.cache.user.max-size:100000}") long maxSize,
+                             @Value("${zari.cache.user.ttl-seconds:600}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // 없으면 null
+    public UserIdentityDto get(String email) {
+        return cache.get(email, e -> userRepository.findByEmail(e).map(UserIdentityCache::toIdentity).orElse(null));
+    }
+
+    public UserIdentityDto getIfPresent(String email) {
+        return cache.getIfPresent(email);
+    }
+
+    public void put(User user) {
+        cache.put(user.getEmail(), toIdentity(user));
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+
+    private static UserIdentityDto toIdentity(User user) {
+        return UserIdentityDto.builder()
+                .userId(user.getUserId())
+                .email(user.getEmail())
+                .nickname(user.getNickname())
+                .role(user.getRole())
+                .passwordHash(user.getPassword())
+                .build();
+    }
+}
@@ -1,10 +1,12 @@
 package com.ysay.zari_back.service;
 
+import com.ysay.zari_back.dto.UserIdentityDto;
 import com.ysay.zari_back.dto.UserSignUpDto;
 import com.ysay.zari_back.entity.User;
 import com.ysay.zari_back.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -14,9 +16,12 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserIdentityCache userIdentityCache;
 
+    // 중복 검사는 email unique 제약에 맡기고 insert 한 번만 한다.
+    // 캐시에 있는 이메일은 DB 까지 가지 않고 거절하고, 다른 노드에서 가입했거나 동시에 가입한 이메일은 unique 제약이 거절한다.
     public void signup(UserSignUpDto dto) {
-        if (userRepository.existsByEmail(dto.getEmail())) {
+        if (userIdentityCache.getIfPresent(dto.getEmail()) != null) {
             throw new IllegalArgumentException("이미 사용 중인 이메일입니다.");
         }
 
@@ -27,14 +32,22 @@ public class UserService {
                 .role(dto.getRole())
                 .build();
 
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("이미 사용 중인 이메일입니다.");
+        }
+        userIdentityCache.put(user);
     }
 
-    public User login(String email, String rawPassword) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 이메일입니다."));
+    // 있는 이메일은 캐시에서 끝나고, 캐시에 없으면 findByEmail 로 간다. BCrypt 는 여기서만 돈다
+    public UserIdentityDto login(String email, String rawPassword) {
+        UserIdentityDto user = userIdentityCache.get(email);
+        if (user == null) {
+            throw new IllegalArgumentException("존재하지 않는 이메일입니다.");
+        }
 
-        if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
+        if (!passwordEncoder.matches(rawPassword, user.getPasswordHash())) {
             throw new IllegalArgumentException("비밀번호가 일치하지 않습니다.");
         }
 
@@ -0,0 +1,163 @@
+package com.ysay.zari_back.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysay.zari_back.service.SeatBroadcastService;
+import com.ysay.zari_back.service.TimingWheelScheduler;
+import com.ysay.zari_back.service.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.user.UserDestinationMessageHandler;
+import org.springframework.messaging.simp.user.UserRegistryMessageHandler;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.mock.env.MockPropertySource;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+// 두 노드가 같은 외부 브로커에 relay 로 붙었을 때, A 노드에서 발행한 좌석 변경이 B 노드 구독자에게 가는지 확인.
+// 노드마다 zari.broker.type=relay 로 실제 WebSocketConfig 를 띄운다
+class BrokerRelayTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    void seatUpdatePublishedOnOneNodeReachesSubscriberOnAnother() throws Exception {
+        try (EmbeddedStompBroker broker = new EmbeddedStompBroker().start();
+             Node nodeA = new Node(broker.getPort());
+             Node nodeB = new Node(broker.getPort())) {
+            nodeA.awaitBrokerAvailable();
+            nodeB.awaitBrokerAvailable();
+
+            String destination = SeatBroadcastService.seatTopic(1L);
+            nodeB.connect("client-1");
+            assertEquals(StompCommand.CONNECTED, nodeB.nextFrame().getCommand());
+            nodeB.subscribe("client-1", "sub-0", destination, "r-0");
+            assertEquals(StompCommand.RECEIPT, nodeB.nextFrame().getCommand());
+
+            nodeA.template.convertAndSend(destination, "seq-1".getBytes(StandardCharsets.UTF_8));
+
+            Message<?> received = nodeB.nextMessage();
+            StompHeaderAccessor accessor = StompHeaderAccessor.wrap(received);
+            assertEquals(StompCommand.MESSAGE, accessor.getCommand());
+            assertEquals("sub-0", accessor.getSubscriptionId());
+            assertEquals("seq-1", new String((byte[]) received.getPayload(), StandardCharsets.UTF_8));
+        }
+    }
+
+    // sendToUser 가 다른 노드의 사용자에게 닿으려면 두 broadcast 토픽이 모두 켜져 있어야 한다
+    @Test
+    void relayModeBroadcastsUserDestinationsAndRegistry() throws Exception {
+        try (EmbeddedStompBroker broker = new EmbeddedStompBroker().start();
+             Node node = new Node(broker.getPort())) {
+            UserDestinationMessageHandler userDestinations = node.context.getBean(UserDestinationMessageHandler.class);
+            assertEquals(WebSocketConfig.USER_DESTINATION_BROADCAST, userDestinations.getBroadcastDestination());
+
+            UserRegistryMessageHandler registry = assertInstanceOf(UserRegistryMessageHandler.class,
+                    node.context.getBean("userRegistryMessageHandler"));
+            assertEquals(WebSocketConfig.USER_REGISTRY_BROADCAST, registry.getBroadcastDestination());
+        }
+    }
+
+    // WebSocketConfig 가 필요로 하는 빈만 둔다
+    @Configuration
+    static class NodeBeans {
+
+        @Bean
+        TimingWheelScheduler timingWheelScheduler() {
+            return new TimingWheelScheduler(10, 64);
+        }
+
+        @Bean
+        TokenService tokenService(TimingWheelScheduler timingWheelScheduler) {
+            return new TokenService("relay-test-secret", "", new ObjectMapper(), timingWheelScheduler,
+                    mock(JdbcTemplate.class));
+        }
+    }
+
+    private static final class Node implements AutoCloseable {
+        private final AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        private final BlockingQueue<Message<?>> outbound = new LinkedBlockingQueue<>();
+        private final MessageChannel clientInbound;
+        private final StompBrokerRelayMessageHandler relay;
+        private final SimpMessagingTemplate template;
+
+        Node(int port) {
+            context.getEnvironment().getPropertySources().addFirst(new MockPropertySource()
+                    .withProperty("zari.broker.type", "relay")
+                    .withProperty("zari.broker.relay.host", "127.0.0.1")
+                    .withProperty("zari.broker.relay.port", port));
+            context.setServletContext(new MockServletContext());
+            context.register(NodeBeans.class, WebSocketConfig.class);
+            context.refresh();
+
+            context.getBean("clientOutboundChannel", SubscribableChannel.class).subscribe(outbound::add);
+            clientInbound = context.getBean("clientInboundChannel", MessageChannel.class);
+            relay = context.getBean(StompBrokerRelayMessageHandler.class);
+            template = context.getBean("brokerMessagingTemplate", SimpMessagingTemplate.class);
+        }
+
+        void awaitBrokerAvailable() throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (!relay.isBrokerAvailable()) {
+                assertTrue(System.nanoTime() < deadline, "브로커에 연결하지 못했습니다.");
+                Thread.sleep(50);
+            }
+        }
+
+        void connect(String sessionId) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+            accessor.setSessionId(sessionId);
+            accessor.setAcceptVersion("1.2");
+            accessor.setHeartbeat(0, 0);
+            send(accessor);
+        }
+
+        void subscribe(String sessionId, String subscriptionId, String destination, String receipt) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+            accessor.setSessionId(sessionId);
+            accessor.setSubscriptionId(subscriptionId);
+            accessor.setDestination(destination);
+            accessor.setReceipt(receipt);
+            send(accessor);
+        }
+
+        // 실제 세션이 없으니 브로커가 클라이언트로 돌려보내는 프레임을 clientOutboundChannel 에서 바로 꺼낸다
+        Message<?> nextMessage() throws InterruptedException {
+            Message<?> message = outbound.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(message, "브로커 응답이 없습니다.");
+            return message;
+        }
+
+        StompHeaderAccessor nextFrame() throws InterruptedException {
+            return StompHeaderAccessor.wrap(nextMessage());
+        }
+
+        private void send(StompHeaderAccessor accessor) {
+            clientInbound.send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        }
+
+        @Override
+        public void close() {
+            context.close();
+        }
+    }
+}
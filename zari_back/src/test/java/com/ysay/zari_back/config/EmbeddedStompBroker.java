@@ -0,0 +1,46 @@
+package com.ysay.zari_back.config;
+
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+// 통합 테스트용 로컬 STOMP 브로커 (zari.broker.type=relay 대상)
+// /topic/ 은 multicast, /queue/ 는 anycast 로 매핑해 Spring 의 relay 목적지 규칙과 맞춘다
+public class EmbeddedStompBroker implements AutoCloseable {
+
+    private final EmbeddedActiveMQ server = new EmbeddedActiveMQ();
+    private final int port;
+
+    public EmbeddedStompBroker() throws Exception {
+        this.port = freePort();
+        Configuration config = new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + port
+                        + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/");
+        server.setConfiguration(config);
+    }
+
+    public EmbeddedStompBroker start() throws Exception {
+        server.start();
+        return this;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public void close() throws Exception {
+        server.stop();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
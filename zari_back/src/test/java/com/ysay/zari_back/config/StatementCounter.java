@@ -0,0 +1,36 @@
+package com.ysay.zari_back.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Hibernate 가 준비하는 SQL 을 스레드별로 모은다.
+// hibernate.session_factory.statement_inspector 로 등록하고 count() 안에서 실행된 문장만 센다
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+        return sql;
+    }
+
+    public static <T> Result<T> count(Supplier<T> work) {
+        List<String> recorded = new ArrayList<>();
+        RECORDED.set(recorded);
+        try {
+            return new Result<>(work.get(), recorded);
+        } finally {
+            RECORDED.remove();
+        }
+    }
+
+    public record Result<T>(T value, List<String> statements) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.ysay.zari_back.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysay.zari_back.entity.Role;
+import com.ysay.zari_back.service.TimingWheelScheduler;
+import com.ysay.zari_back.service.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+// ?token= 은 SockJS 전송 경로에서만 받는다
+class TokenAuthenticationFilterTest {
+
+    private TimingWheelScheduler timingWheelScheduler;
+    private TokenService tokenService;
+    private TokenAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        timingWheelScheduler = new TimingWheelScheduler(10, 64);
+        tokenService = new TokenService("filter-test-secret", "", new ObjectMapper(), timingWheelScheduler,
+                mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(tokenService, "tokenTtlMs", 60_000L);
+        filter = new TokenAuthenticationFilter(tokenService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        timingWheelScheduler.stop();
+    }
+
+    @Test
+    void queryTokenAuthenticatesSockJsTransport() throws Exception {
+        Authentication authentication = filter(WebSocketConfig.ENDPOINT + "/123/abcdef/xhr_streaming");
+
+        assertNotNull(authentication);
+        assertEquals("7", authentication.getName());
+    }
+
+    @Test
+    void queryTokenIsIgnoredOutsideSockJsTransport() throws Exception {
+        assertNull(filter("/api/reservations"));
+        assertNull(filter(WebSocketConfig.ENDPOINT + "/info"));
+    }
+
+    private Authentication filter(String uri) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setQueryString("token=" + tokenService.issue(7L, Role.USER));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
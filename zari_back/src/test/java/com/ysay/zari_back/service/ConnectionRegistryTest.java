@@ -0,0 +1,94 @@
+package com.ysay.zari_back.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysay.zari_back.entity.Role;
+import com.ysay.zari_back.principal.TokenPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ConnectionRegistryTest {
+
+    private final MessageChannel clientOutboundChannel = mock(MessageChannel.class);
+
+    private TimingWheelScheduler timingWheelScheduler;
+    private TokenService tokenService;
+    private ConnectionRegistry connectionRegistry;
+
+    @BeforeEach
+    void setUp() {
+        timingWheelScheduler = new TimingWheelScheduler(10, 64);
+        tokenService = new TokenService("registry-test-secret", "", new ObjectMapper(), timingWheelScheduler,
+                mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(tokenService, "tokenTtlMs", 60_000L);
+        connectionRegistry = new ConnectionRegistry(mock(SimpUserRegistry.class), clientOutboundChannel, tokenService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timingWheelScheduler.stop();
+    }
+
+    // 로그아웃하면 그 토큰으로 열린 세션에만 ERROR 를 보내 닫는다
+    @Test
+    void revokingTokenClosesItsSessions() {
+        TokenService.Claims claims = tokenService.verify(tokenService.issue(7L, Role.USER));
+        TokenService.Claims other = tokenService.verify(tokenService.issue(7L, Role.USER));
+        connectionRegistry.onConnected(connected("session-1", claims));
+        connectionRegistry.onConnected(connected("session-2", other));
+
+        tokenService.revoke(claims);
+
+        verify(clientOutboundChannel).send(argThat(message -> isError(message, "session-1")));
+        verify(clientOutboundChannel, never()).send(argThat(message -> isError(message, "session-2")));
+    }
+
+    @Test
+    void disconnectedSessionIsNotClosedAgain() {
+        TokenService.Claims claims = tokenService.verify(tokenService.issue(7L, Role.USER));
+        connectionRegistry.onConnected(connected("session-1", claims));
+        connectionRegistry.onDisconnect(new SessionDisconnectEvent(ConnectionRegistryTest.class,
+                MessageBuilder.createMessage(new byte[0], connectAck("session-1").getMessageHeaders()),
+                "session-1", CloseStatus.NORMAL));
+
+        tokenService.revoke(claims);
+
+        verify(clientOutboundChannel, never()).send(any());
+    }
+
+    private static boolean isError(Message<?> message, String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        return accessor.getCommand() == StompCommand.ERROR && sessionId.equals(accessor.getSessionId());
+    }
+
+    private static SessionConnectedEvent connected(String sessionId, TokenService.Claims claims) {
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], connectAck(sessionId).getMessageHeaders());
+        return new SessionConnectedEvent(ConnectionRegistryTest.class, message,
+                new TokenPrincipal(String.valueOf(claims.userId()), claims.jti()));
+    }
+
+    private static SimpMessageHeaderAccessor connectAck(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        accessor.setSessionId(sessionId);
+        return accessor;
+    }
+}
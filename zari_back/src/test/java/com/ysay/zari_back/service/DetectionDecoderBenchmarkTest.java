@@ -0,0 +1,60 @@
+package com.ysay.zari_back.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysay.zari_back.dto.DetectionDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static com.ysay.zari_back.service.DetectionDecoderTest.LIST_TYPE;
+import static com.ysay.zari_back.service.DetectionDecoderTest.binaryPayload;
+import static com.ysay.zari_back.service.DetectionDecoderTest.jsonPayload;
+
+// JSON 과 바이너리 탐지 업로드의 디코딩 비용 비교. 기본 test 에서는 빠지고 ./gradlew benchmark 로 돌린다
+@Tag("benchmark")
+class DetectionDecoderBenchmarkTest {
+
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 20_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DetectionFramePool framePool = new DetectionFramePool(16);
+    private final DetectionDecoder decoder = new DetectionDecoder(framePool);
+
+    @Test
+    void compareJsonAndBinaryDecoding() throws Exception {
+        byte[] json = jsonPayload();
+        byte[] binary = binaryPayload(3L);
+
+        for (int i = 0; i < WARMUP; i++) {
+            decodeJson(json);
+            decodeBinary(binary);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            decodeJson(json);
+        }
+        long jsonNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            decodeBinary(binary);
+        }
+        long binaryNanos = System.nanoTime() - start;
+
+        System.out.printf("json   : %d bytes, %d ns/frame%n", json.length, jsonNanos / ITERATIONS);
+        System.out.printf("binary : %d bytes, %d ns/frame%n", binary.length, binaryNanos / ITERATIONS);
+    }
+
+    private void decodeJson(byte[] body) throws Exception {
+        List<DetectionDto> detections = objectMapper.readValue(body, LIST_TYPE);
+        framePool.release(decoder.fromJson(1L, 2, 3L, detections));
+    }
+
+    private void decodeBinary(byte[] body) {
+        framePool.release(decoder.fromBinary(ByteBuffer.wrap(body), 3L));
+    }
+}
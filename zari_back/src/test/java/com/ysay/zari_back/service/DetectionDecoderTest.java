@@ -0,0 +1,119 @@
+package com.ysay.zari_back.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysay.zari_back.dto.DetectionDto;
+import com.ysay.zari_back.dto.DetectionFrame;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DetectionDecoderTest {
+
+    static final int DETECTIONS = 40;
+    static final TypeReference<List<DetectionDto>> LIST_TYPE = new TypeReference<>() {
+    };
+    private static final long MAX_SKEW_MS = 2_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DetectionDecoder decoder = new DetectionDecoder(new DetectionFramePool(16));
+
+    @Test
+    void binaryDecodesSameBoxesAsJson() throws Exception {
+        DetectionFrame json = decoder.fromJson(1L, 2, 3L, objectMapper.readValue(jsonPayload(), LIST_TYPE));
+        DetectionFrame binary = decoder.fromBinary(ByteBuffer.wrap(binaryPayload(3L)), 3L);
+
+        assertEquals(json.getStoreId(), binary.getStoreId());
+        assertEquals(json.getCameraId(), binary.getCameraId());
+        assertEquals(json.getTimestamp(), binary.getTimestamp());
+        assertEquals(json.getChairCount(), binary.getChairCount());
+        assertEquals(json.getPersonCount(), binary.getPersonCount());
+        assertArrayEquals(Arrays.copyOf(json.getChairs(), json.getChairCount() * 4),
+                Arrays.copyOf(binary.getChairs(), binary.getChairCount() * 4));
+        assertArrayEquals(Arrays.copyOf(json.getPersons(), json.getPersonCount() * 4),
+                Arrays.copyOf(binary.getPersons(), binary.getPersonCount() * 4));
+    }
+
+    // 카메라 시계가 틀려도 프레임 시각은 수신 시각 기준 허용 오차 안에 머문다
+    @Test
+    void binaryTimestampIsClampedToReceiveTime() {
+        ReflectionTestUtils.setField(decoder, "maxClockSkewMs", MAX_SKEW_MS);
+        long receivedAt = 1_700_000_000_000L;
+
+        assertEquals(receivedAt - 500,
+                decoder.fromBinary(ByteBuffer.wrap(binaryPayload(receivedAt - 500)), receivedAt).getTimestamp());
+        assertEquals(receivedAt,
+                decoder.fromBinary(ByteBuffer.wrap(binaryPayload(receivedAt + 3_600_000)), receivedAt).getTimestamp());
+        assertEquals(receivedAt - MAX_SKEW_MS,
+                decoder.fromBinary(ByteBuffer.wrap(binaryPayload(0L)), receivedAt).getTimestamp());
+    }
+
+    // 스트림 디코딩은 여러 조각으로 나눠 읽어도 버퍼 디코딩과 같은 박스를 만든다
+    @Test
+    void streamDecodesSameBoxesAsBuffer() throws Exception {
+        DetectionFrame buffered = decoder.fromBinary(ByteBuffer.wrap(binaryPayload(3L)), 3L);
+        DetectionFrame streamed = decoder.fromBinary(new ByteArrayInputStream(binaryPayload(3L)), 3L);
+
+        assertEquals(buffered.getChairCount(), streamed.getChairCount());
+        assertEquals(buffered.getPersonCount(), streamed.getPersonCount());
+        assertArrayEquals(Arrays.copyOf(buffered.getChairs(), buffered.getChairCount() * 4),
+                Arrays.copyOf(streamed.getChairs(), streamed.getChairCount() * 4));
+        assertArrayEquals(Arrays.copyOf(buffered.getPersons(), buffered.getPersonCount() * 4),
+                Arrays.copyOf(streamed.getPersons(), streamed.getPersonCount() * 4));
+    }
+
+    // 헤더의 탐지 개수보다 본문이 짧으면 거부한다
+    @Test
+    void truncatedStreamIsRejected() {
+        byte[] payload = binaryPayload(3L);
+        byte[] truncated = Arrays.copyOf(payload, payload.length - 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> decoder.fromBinary(new ByteArrayInputStream(truncated), 3L));
+        assertThrows(IllegalArgumentException.class,
+                () -> decoder.fromBinary(new ByteArrayInputStream(new byte[5]), 3L));
+    }
+
+    static byte[] jsonPayload() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < DETECTIONS; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            int x = i * 15;
+            sb.append("{\"label\":\"").append(i % 2 == 0 ? "chair" : "person")
+                    .append("\",\"confidence\":0.8125,\"bbox\":[")
+                    .append(x).append(',').append(100).append(',').append(x + 40).append(',').append(180)
+                    .append("]}");
+        }
+        return sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] binaryPayload(long timestamp) {
+        ByteBuffer buf = ByteBuffer.allocate(DetectionDecoder.HEADER_BYTES + DETECTIONS * DetectionDecoder.DETECTION_BYTES);
+        buf.put((byte) DetectionDecoder.VERSION);
+        buf.putLong(1L);
+        buf.putInt(2);
+        buf.putLong(timestamp);
+        buf.putShort((short) DETECTIONS);
+        for (int i = 0; i < DETECTIONS; i++) {
+            int x = i * 15;
+            buf.put((byte) (i % 2 == 0 ? DetectionDecoder.CLASS_CHAIR : DetectionDecoder.CLASS_PERSON));
+            buf.putShort((short) (0.8125 * DetectionDecoder.CONFIDENCE_SCALE));
+            buf.putShort((short) x);
+            buf.putShort((short) 100);
+            buf.putShort((short) (x + 40));
+            buf.putShort((short) 180);
+        }
+        return buf.array();
+    }
+}
@@ -0,0 +1,157 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.config.StatementCounter;
+import com.ysay.zari_back.dto.ReviewCreateDto;
+import com.ysay.zari_back.dto.ReviewDto;
+import com.ysay.zari_back.dto.StoreDetailDto;
+import com.ysay.zari_back.dto.StoreSimpleDto;
+import com.ysay.zari_back.entity.Menu;
+import com.ysay.zari_back.entity.Review;
+import com.ysay.zari_back.entity.Role;
+import com.ysay.zari_back.entity.Store;
+import com.ysay.zari_back.entity.StoreCategory;
+import com.ysay.zari_back.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// N+1 감시. 서비스 메서드 하나가 실행하는 SQL 수가 예산을 넘으면 실패한다.
+// 매장·점주·메뉴·리뷰를 여러 개 만들어 두므로 연관을 하나씩 따라가는 조회가 생기면 문장 수가 데이터 수만큼 늘어난다
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fetchplan;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ysay.zari_back.config.StatementCounter"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({StoreService.class, ReviewService.class, StoreGeoIndex.class, StoreDetailCache.class, StoreSearchIndex.class})
+class FetchPlanStatementBudgetTest {
+
+    private static final int OWNERS = 3;
+    private static final int STORES_PER_OWNER = 4;
+    private static final int MENUS_PER_STORE = 3;
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private StoreService storeService;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private StoreGeoIndex storeGeoIndex;
+
+    @MockitoBean
+    private ImageUploadService imageUploadService;
+    @MockitoBean
+    private SeatStateService seatStateService;
+
+    private final List<User> owners = new ArrayList<>();
+    private final List<Store> stores = new ArrayList<>();
+    private User reviewer;
+
+    @BeforeEach
+    void setUp() {
+        for (int o = 0; o < OWNERS; o++) {
+            User owner = em.persist(user("owner" + o, Role.OWNER));
+            owners.add(owner);
+            for (int s = 0; s < STORES_PER_OWNER; s++) {
+                Store store = em.persist(Store.builder()
+                        .owner(owner)
+                        .storeName("매장" + o + "-" + s)
+                        .storeAddress("서울")
+                        .storePhone("02-000-0000")
+                        .category(StoreCategory.CAFE)
+                        .latitude(37.5)
+                        .longitude(127.0)
+                        .build());
+                stores.add(store);
+                for (int m = 0; m < MENUS_PER_STORE; m++) {
+                    em.persist(Menu.builder().name("메뉴" + m).price(1000 * (m + 1)).store(store).build());
+                }
+            }
+        }
+        reviewer = em.persist(user("reviewer", Role.USER));
+        for (Store store : stores) {
+            for (User author : owners) {
+                em.persist(Review.builder().rating(4).comment("좋아요").store(store).user(author).build());
+            }
+        }
+        // 1차 캐시에 남은 엔티티로 조회가 생략되지 않게 비운다
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void storeListingIsOneStatement() {
+        List<StoreSimpleDto> page = withinBudget(1, () -> storeService.getStores(null, 100, null));
+        assertEquals(stores.size(), page.size());
+    }
+
+    @Test
+    void storeDetailLoadsMenusWithTheStore() {
+        StoreDetailDto detail = withinBudget(1, () -> storeService.getStoreDetail(stores.get(0).getStoreId()));
+        assertEquals(MENUS_PER_STORE, detail.getMenus().size());
+        assertEquals(owners.get(0).getUserId(), detail.getOwnerId());
+    }
+
+    @Test
+    void ownerStoresAreOneStatement() {
+        List<StoreSimpleDto> owned = withinBudget(1, () -> storeService.getOwnedStores(owners.get(1).getUserId()));
+        assertEquals(STORES_PER_OWNER, owned.size());
+    }
+
+    // owner 를 매장마다 따로 읽지 않는지 (지연 로딩 프록시에서 id 만 꺼낸다)
+    @Test
+    void geoIndexBuildDoesNotLoadOwners() {
+        withinBudget(1, () -> {
+            storeService.buildGeoIndex();
+            return null;
+        });
+        StoreSimpleDto indexed = storeGeoIndex.get(stores.get(stores.size() - 1).getStoreId());
+        assertEquals(owners.get(OWNERS - 1).getUserId(), indexed.getOwnerId());
+    }
+
+    @Test
+    void reviewPageIsOneStatement() {
+        List<ReviewDto> reviews = withinBudget(1, () -> reviewService.getReviews(stores.get(0).getStoreId(), null, 20));
+        assertEquals(OWNERS, reviews.size());
+    }
+
+    // 작성자 조회, 집계 갱신, 리뷰 저장, 집계 재조회
+    @Test
+    void reviewCreationStaysWithinBudget() {
+        ReviewCreateDto dto = new ReviewCreateDto();
+        dto.setRating(5);
+        dto.setComment("맛있어요");
+        ReviewDto review = withinBudget(4,
+                () -> reviewService.createReview(stores.get(0).getStoreId(), reviewer.getUserId(), dto));
+        assertEquals(reviewer.getUserId(), review.getUserId());
+    }
+
+    private static <T> T withinBudget(int budget, Supplier<T> work) {
+        StatementCounter.Result<T> result = StatementCounter.count(work);
+        assertTrue(result.statements().size() <= budget,
+                "SQL " + result.statements().size() + "개 실행 (예산 " + budget + "개):\n"
+                        + String.join("\n", result.statements()));
+        return result.value();
+    }
+
+    private static User user(String name, Role role) {
+        return User.builder()
+                .email(name + "@zari.test")
+                .nickname(name)
+                .password("{noop}pw")
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.ysay.zari_back.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 업로드는 트랜잭션이 커밋된 뒤에만 시작되고, 롤백되면 저장소에 아무것도 남지 않아야 한다
+class ImageUploadServiceTest {
+
+    private static final long WAIT_MS = 10_000;
+    private static final long MAX_PIXELS = 1_000_000;
+
+    @TempDir
+    Path root;
+
+    private LocalObjectStorage storage;
+    private ImageUploadService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new LocalObjectStorage(root.toString(), "/files");
+        service = new ImageUploadService(storage);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "backoffMs", 10L);
+        ReflectionTestUtils.setField(service, "maxPixels", MAX_PIXELS);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        service.shutdown();
+    }
+
+    @Test
+    void uploadStartsOnlyAfterCommit() throws Exception {
+        ImageUploadService.StagedImage staged = service.stageUpload(png());
+        assertEquals(0, storedFiles(), "커밋 전에 업로드가 시작됐습니다.");
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (storedFiles() < ImageVariant.values().length && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(ImageVariant.values().length, storedFiles());
+        assertTrue(Files.exists(root.resolve(staged.thumbnailUrl().substring("/files/".length()))));
+    }
+
+    @Test
+    void rollbackLeavesNoObjectBehind() throws Exception {
+        service.stageUpload(png());
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        service.shutdown();
+        Thread.sleep(200);
+
+        assertEquals(0, storedFiles());
+    }
+
+    // 헤더에 적힌 크기가 한도를 넘으면 디코딩하지 않고 거절하고, 커밋 뒤 업로드도 걸지 않는다
+    @Test
+    void oversizedImageIsRejectedBeforeStaging() throws Exception {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> service.stageUpload(png(1200, 1000)));
+
+        assertTrue(e.getMessage().contains(String.valueOf(MAX_PIXELS)));
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        service.shutdown();
+        Thread.sleep(200);
+        assertEquals(0, storedFiles());
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization s : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                s.afterCommit();
+            }
+            s.afterCompletion(status);
+        }
+    }
+
+    private long storedFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static MockMultipartFile png() throws Exception {
+        return png(640, 480);
+    }
+
+    private static MockMultipartFile png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new MockMultipartFile("image", "store.png", "image/png", out.toByteArray());
+    }
+}
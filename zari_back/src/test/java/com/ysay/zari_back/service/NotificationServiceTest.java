@@ -0,0 +1,155 @@
+package com.ysay.zari_back.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysay.zari_back.entity.NotificationOutbox;
+import com.ysay.zari_back.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceTest {
+
+    private static final String USER = "7";
+    private static final long ACK_TIMEOUT_MS = 50;
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final ConnectionRegistry connectionRegistry = mock(ConnectionRegistry.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final NotificationOutboxRepository outboxRepository = mock(NotificationOutboxRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TimingWheelScheduler timingWheelScheduler;
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        when(connectionRegistry.isOnline(USER)).thenReturn(true);
+        timingWheelScheduler = new TimingWheelScheduler(10, 64);
+        notificationService = new NotificationService(messagingTemplate, connectionRegistry, timingWheelScheduler,
+                objectMapper, jdbcTemplate, outboxRepository);
+        ReflectionTestUtils.setField(notificationService, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(notificationService, "ackTimeoutMs", ACK_TIMEOUT_MS);
+        ReflectionTestUtils.setField(notificationService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(notificationService, "replayDelayMs", 100L);
+        ReflectionTestUtils.setField(notificationService, "nodeId", 5);
+        notificationService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationService.shutdown();
+        timingWheelScheduler.stop();
+    }
+
+    // 나중 알림을 먼저 ack 해도 앞 알림은 ack 된 것으로 치지 않고 계속 다시 보낸다
+    @Test
+    void ackStopsResendingOnlyThatNotification() {
+        long first = notificationService.sendToUser(USER, "first");
+        long second = notificationService.sendToUser(USER, "second");
+        notificationService.ack(USER, second);
+
+        verify(messagingTemplate, timeout(2_000).times(3)).convertAndSendToUser(
+                eq(USER), eq(NotificationService.ALERT_QUEUE), eq("first"), eq(headers(first)));
+        verify(messagingTemplate, after(4 * ACK_TIMEOUT_MS).times(1)).convertAndSendToUser(
+                eq(USER), eq(NotificationService.ALERT_QUEUE), eq("second"), eq(headers(second)));
+    }
+
+    // 재구독하면 ack 를 먼저 반영한 뒤 보관함에 남은 알림을 다시 보내고, 조회는 구독 이벤트 스레드에서 하지 않는다
+    @Test
+    void replaySendsUnackedNotificationsOffTheSubscribeThread() {
+        when(outboxRepository.findTop500ByUserIdAndExpiresAtGreaterThanOrderBySeq(eq(USER), anyLong()))
+                .thenReturn(List.of(row(101, "\"first\"")));
+        notificationService.ack(USER, 102);
+
+        notificationService.onSubscribe(subscribe(NotificationService.USER_ALERT_DESTINATION));
+        verify(outboxRepository, never()).findTop500ByUserIdAndExpiresAtGreaterThanOrderBySeq(anyString(), anyLong());
+
+        verify(messagingTemplate, timeout(2_000)).convertAndSendToUser(
+                eq(USER), eq(NotificationService.ALERT_QUEUE), eq(objectMapper.valueToTree("first")), eq(headers(101)));
+        InOrder order = inOrder(jdbcTemplate, outboxRepository);
+        order.verify(jdbcTemplate).batchUpdate(startsWith("delete from notification_outbox"),
+                argThat((List<Object[]> args) -> args.size() == 1 && Long.valueOf(102).equals(args.get(0)[1])));
+        order.verify(outboxRepository).findTop500ByUserIdAndExpiresAtGreaterThanOrderBySeq(eq(USER), anyLong());
+    }
+
+    // ack 가 보관함 저장보다 먼저 와도 그 알림은 보관함에 쌓이지 않는다
+    @Test
+    void notificationAckedBeforeFlushIsNeverStored() {
+        long seq = notificationService.sendToUser(USER, "first");
+        notificationService.ack(USER, seq);
+
+        notificationService.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    // 보관함 쓰기가 실패해도 알림은 버리지 않고 다음 flush 에서 다시 쓴다
+    @Test
+    void failedFlushKeepsRowsForNextFlush() {
+        when(connectionRegistry.isOnline(USER)).thenReturn(false);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[0][]);
+        notificationService.sendToUser(USER, "first");
+
+        notificationService.flush();
+        notificationService.flush();
+        notificationService.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    private static Map<String, Object> headers(long seq) {
+        return Map.of(NotificationService.SEQ_HEADER, seq);
+    }
+
+    private static NotificationOutbox row(long seq, String payload) {
+        long now = System.currentTimeMillis();
+        return NotificationOutbox.builder()
+                .userId(USER)
+                .seq(seq)
+                .payload(payload)
+                .createdAt(now)
+                .expiresAt(now + 60_000)
+                .build();
+    }
+
+    private static SessionSubscribeEvent subscribe(String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setSessionId("session-1");
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new SessionSubscribeEvent(NotificationServiceTest.class, message, () -> USER);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.entity.OccupancyRollup;
+import com.ysay.zari_back.entity.RollupResolution;
+import com.ysay.zari_back.repository.OccupancyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OccupancyServiceTest {
+
+    private static final long HOUR = RollupResolution.HOUR.getMillis();
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final OccupancyService occupancyService = new OccupancyService(
+            mock(OccupancyRollupRepository.class), jdbcTemplate, mock(PlatformTransactionManager.class));
+
+    // 저장이 실패한 버킷은 버리지 않고 다음 flush 에서 그대로 다시 쓴다
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedWriteKeepsBucketsForNextFlush() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[0][]);
+        long bucket = RollupResolution.HOUR.bucketStart(System.currentTimeMillis()) - 2 * HOUR;
+        occupancyService.record(1L, bucket + 1_000, 3, 10);
+        occupancyService.record(1L, bucket + 2_000, 5, 10);
+
+        occupancyService.flush();
+        occupancyService.flush();
+        occupancyService.flush();
+
+        ArgumentCaptor<Collection<OccupancyRollup>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("insert into occupancy_rollup"),
+                rows.capture(), anyInt(), any());
+        List<Collection<OccupancyRollup>> attempts = rows.getAllValues();
+        assertEquals(RollupResolution.values().length, attempts.get(1).size());
+        for (OccupancyRollup row : attempts.get(1)) {
+            assertEquals(2, row.getSamples());
+            assertEquals(8, row.getOccupiedSum());
+            assertEquals(5, row.getOccupiedMax());
+        }
+    }
+}
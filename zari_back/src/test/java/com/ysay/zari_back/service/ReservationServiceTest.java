@@ -0,0 +1,163 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.DetectionFrame;
+import com.ysay.zari_back.dto.ReservationDto;
+import com.ysay.zari_back.dto.StoreSimpleDto;
+import com.ysay.zari_back.entity.ReservationStatus;
+import com.ysay.zari_back.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservationServiceTest {
+
+    private static final Long STORE_ID = 1L;
+    private static final int THREADS = 8;
+
+    private TimingWheelScheduler timingWheelScheduler;
+    private SeatStateService seatStateService;
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        timingWheelScheduler = new TimingWheelScheduler(10, 64);
+        seatStateService = new SeatStateService(timingWheelScheduler);
+        ReflectionTestUtils.setField(seatStateService, "seatTtlMs", 600_000L);
+        ReflectionTestUtils.setField(seatStateService, "hysteresisFrames", 3);
+        ReflectionTestUtils.setField(seatStateService, "cameraStaleMs", 600_000L);
+
+        StoreGeoIndex storeGeoIndex = mock(StoreGeoIndex.class);
+        when(storeGeoIndex.get(STORE_ID)).thenReturn(StoreSimpleDto.builder().storeId(STORE_ID).build());
+        reservationService = new ReservationService(seatStateService, storeGeoIndex,
+                mock(NotificationService.class), mock(ReservationRepository.class),
+                mock(JdbcTemplate.class), timingWheelScheduler);
+        ReflectionTestUtils.setField(reservationService, "holdMs", 600_000L);
+        ReflectionTestUtils.setField(reservationService, "maxSeats", 8);
+        ReflectionTestUtils.setField(reservationService, "arrivalMs", 600_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timingWheelScheduler.stop();
+    }
+
+    // 마지막 한 자리를 여러 명이 동시에 잡아도 한 명만 성공한다
+    @Test
+    void concurrentHoldsNeverOversellTheLastSeat() throws Exception {
+        seatStateService.apply(frame(1, 0));
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 100; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicInteger won = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+                List<ReservationDto> holds = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    long userId = t;
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        try {
+                            ReservationDto hold = reservationService.hold(STORE_ID, userId, 1);
+                            synchronized (holds) {
+                                holds.add(hold);
+                            }
+                            won.incrementAndGet();
+                        } catch (IllegalStateException e) {
+                            // 남은 좌석 부족
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+
+                assertEquals(1, won.get());
+                assertEquals(0, seatStateService.availableSeats(STORE_ID));
+                for (ReservationDto hold : holds) {
+                    reservationService.cancel(hold.getReservationId(), hold.getUserId());
+                }
+                assertEquals(0, reservationService.heldSeats(STORE_ID));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // 확정된 좌석은 계속 잡혀 있고, 취소해야 돌아온다
+    @Test
+    void confirmKeepsSeatsAndCancelReturnsThem() {
+        seatStateService.apply(frame(2, 0));
+        ReservationDto first = reservationService.hold(STORE_ID, 10L, 1);
+        ReservationDto second = reservationService.hold(STORE_ID, 11L, 1);
+        assertEquals(0, seatStateService.availableSeats(STORE_ID));
+
+        assertEquals(ReservationStatus.CONFIRMED,
+                reservationService.confirm(first.getReservationId(), 10L).getStatus());
+        assertEquals(2, reservationService.heldSeats(STORE_ID));
+        assertEquals(0, seatStateService.getStatus(STORE_ID).getFreeSeats());
+        assertThrows(IllegalStateException.class, () -> reservationService.hold(STORE_ID, 12L, 1));
+
+        reservationService.cancel(second.getReservationId(), 11L);
+        assertEquals(1, reservationService.heldSeats(STORE_ID));
+        assertEquals(1, seatStateService.getStatus(STORE_ID).getFreeSeats());
+        assertEquals(1, seatStateService.getSnapshot(STORE_ID).getFreeSeats());
+
+        reservationService.cancel(first.getReservationId(), 10L);
+        assertEquals(0, reservationService.heldSeats(STORE_ID));
+        assertEquals(2, seatStateService.getStatus(STORE_ID).getFreeSeats());
+    }
+
+    // 확정한 손님이 와서 앉으면 잡아 둔 좌석을 돌려주므로 같은 손님을 점유와 예약으로 두 번 빼지 않는다
+    @Test
+    void seatedGuestReleasesConfirmedHold() {
+        seatStateService.apply(frame(2, 0));
+        ReservationDto hold = reservationService.hold(STORE_ID, 10L, 1);
+        reservationService.confirm(hold.getReservationId(), 10L);
+        assertEquals(1, seatStateService.getStatus(STORE_ID).getFreeSeats());
+
+        for (int i = 1; i <= 3; i++) {
+            seatStateService.apply(frame(2, 1, i));
+        }
+
+        assertEquals(0, reservationService.heldSeats(STORE_ID));
+        assertEquals(1, seatStateService.getStatus(STORE_ID).getFreeSeats());
+
+        // 도착 시간이 지나거나 취소돼도 이미 돌려준 좌석을 다시 빼지 않는다
+        reservationService.cancel(hold.getReservationId(), 10L);
+        assertEquals(0, reservationService.heldSeats(STORE_ID));
+    }
+
+    private static DetectionFrame frame(int chairs, int persons) {
+        return frame(chairs, persons, 0);
+    }
+
+    // 의자 chairs 개를 보고 그중 앞의 persons 개에 사람이 앉은 카메라 1번 프레임
+    private static DetectionFrame frame(int chairs, int persons, long offsetMs) {
+        DetectionFrame frame = new DetectionFrame();
+        frame.reset(STORE_ID, 1, System.currentTimeMillis() + offsetMs);
+        for (int i = 0; i < chairs; i++) {
+            frame.addChair(i * 100, 0, i * 100 + 50, 50);
+        }
+        for (int i = 0; i < persons; i++) {
+            frame.addPerson(i * 100, 0, i * 100 + 50, 50);
+        }
+        return frame;
+    }
+}
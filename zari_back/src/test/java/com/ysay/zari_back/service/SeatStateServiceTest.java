@@ -0,0 +1,81 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.DetectionFrame;
+import com.ysay.zari_back.dto.SeatDeltaDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SeatStateServiceTest {
+
+    private static final Long STORE_ID = 1L;
+    private static final int CAMERA_ID = 1;
+    private static final long STALE_MS = 100;
+
+    private final BlockingQueue<Integer> staleCameras = new LinkedBlockingQueue<>();
+
+    private TimingWheelScheduler timingWheelScheduler;
+    private SeatStateService seatStateService;
+
+    @BeforeEach
+    void setUp() {
+        timingWheelScheduler = new TimingWheelScheduler(10, 64);
+        seatStateService = new SeatStateService(timingWheelScheduler);
+        ReflectionTestUtils.setField(seatStateService, "seatTtlMs", 600_000L);
+        ReflectionTestUtils.setField(seatStateService, "hysteresisFrames", 3);
+        ReflectionTestUtils.setField(seatStateService, "cameraStaleMs", STALE_MS);
+        seatStateService.onCameraStale((storeId, cameraId) -> staleCameras.add(cameraId));
+    }
+
+    @AfterEach
+    void tearDown() {
+        timingWheelScheduler.stop();
+    }
+
+    // 변경분은 돌려받기만 하고, 끊긴 카메라는 타이머가 지우지 않고 파티션 큐로 넘긴다
+    @Test
+    void staleCameraIsHandedToThePartitionWorker() throws Exception {
+        SeatDeltaDto first = seatStateService.apply(frame());
+        assertNotNull(first);
+        assertEquals(2, first.getChanged().size());
+
+        assertEquals(CAMERA_ID, staleCameras.poll(2, TimeUnit.SECONDS));
+        assertEquals(2, seatStateService.totalSeats(STORE_ID));
+
+        SeatDeltaDto dropped = seatStateService.dropStaleCamera(STORE_ID, CAMERA_ID);
+        assertNotNull(dropped);
+        assertEquals(first.getSeq() + 1, dropped.getSeq());
+        assertEquals(2, dropped.getRemoved().size());
+        assertEquals(0, seatStateService.totalSeats(STORE_ID));
+    }
+
+    // 큐에서 기다리는 사이 카메라가 다시 보고했으면 좌석을 지우지 않는다
+    @Test
+    void cameraThatReportedAgainIsNotDropped() throws Exception {
+        seatStateService.apply(frame());
+        assertEquals(CAMERA_ID, staleCameras.poll(2, TimeUnit.SECONDS));
+
+        seatStateService.apply(frame());
+
+        assertNull(seatStateService.dropStaleCamera(STORE_ID, CAMERA_ID));
+        assertEquals(2, seatStateService.totalSeats(STORE_ID));
+    }
+
+    private static DetectionFrame frame() {
+        DetectionFrame frame = new DetectionFrame();
+        frame.reset(STORE_ID, CAMERA_ID, System.currentTimeMillis());
+        for (int i = 0; i < 2; i++) {
+            frame.addChair(i * 100, 0, i * 100 + 50, 50);
+        }
+        return frame;
+    }
+}
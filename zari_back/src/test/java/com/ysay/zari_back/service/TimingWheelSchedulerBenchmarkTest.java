@@ -0,0 +1,61 @@
+package com.ysay.zari_back.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 대기 타이머 100만 개에서 타이밍 휠과 ScheduledThreadPoolExecutor 의 등록·취소 비용 비교 (./gradlew benchmark)
+@Tag("benchmark")
+class TimingWheelSchedulerBenchmarkTest {
+
+    private static final int TIMERS = 1_000_000;
+
+    @Test
+    void scheduleAndCancelCost() {
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(10, 4096);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        Runnable noop = () -> {
+        };
+        try {
+            // 워밍업
+            wheelRound(scheduler, noop, 100_000);
+            executorRound(executor, noop, 100_000);
+
+            long wheelNs = wheelRound(scheduler, noop, TIMERS);
+            long executorNs = executorRound(executor, noop, TIMERS);
+            System.out.printf("schedule+cancel %,d timers: wheel %.1f ns/timer, ScheduledThreadPoolExecutor %.1f ns/timer%n",
+                    TIMERS, (double) wheelNs / TIMERS, (double) executorNs / TIMERS);
+        } finally {
+            scheduler.stop();
+            executor.shutdownNow();
+        }
+    }
+
+    private static long wheelRound(TimingWheelScheduler scheduler, Runnable task, int n) {
+        TimingWheelScheduler.Timeout[] timeouts = new TimingWheelScheduler.Timeout[n];
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            timeouts[i] = scheduler.schedule(60_000 + i % 60_000, task);
+        }
+        for (int i = 0; i < n; i++) {
+            timeouts[i].cancel();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long executorRound(ScheduledThreadPoolExecutor executor, Runnable task, int n) {
+        ScheduledFuture<?>[] futures = new ScheduledFuture<?>[n];
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            futures[i] = executor.schedule(task, 60_000 + i % 60_000, TimeUnit.MILLISECONDS);
+        }
+        for (int i = 0; i < n; i++) {
+            futures[i].cancel(false);
+        }
+        return System.nanoTime() - start;
+    }
+}
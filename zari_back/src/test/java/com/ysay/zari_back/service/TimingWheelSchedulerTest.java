@@ -0,0 +1,108 @@
+package com.ysay.zari_back.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelSchedulerTest {
+
+    private static final int TIMERS = 1_000_000;
+    private static final long MAX_DELAY_MS = 2_000;
+
+    @Test
+    void millionTimersFireOnceAndCancelledOnesNever() throws Exception {
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(10, 4096);
+        try {
+            AtomicInteger fired = new AtomicInteger();
+            AtomicInteger firedCancelled = new AtomicInteger();
+            TimingWheelScheduler.Timeout[] timeouts = new TimingWheelScheduler.Timeout[TIMERS];
+
+            for (int i = 0; i < TIMERS; i++) {
+                boolean cancelLater = (i & 1) == 0;
+                timeouts[i] = scheduler.schedule(ThreadLocalRandom.current().nextLong(MAX_DELAY_MS),
+                        cancelLater ? firedCancelled::incrementAndGet : fired::incrementAndGet);
+            }
+            for (int i = 0; i < TIMERS; i += 2) {
+                timeouts[i].cancel();
+            }
+
+            long deadline = System.currentTimeMillis() + MAX_DELAY_MS + 10_000;
+            while (scheduler.pending() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            // 취소가 워커보다 늦어 이미 실행된 타이머는 fired 쪽에 있어야 한다
+            assertEquals(0, scheduler.pending());
+            assertEquals(TIMERS, fired.get() + firedCancelled.get()
+                    + countCancelled(timeouts));
+            assertTrue(fired.get() >= TIMERS / 2);
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    // 휠 한 바퀴(8 tick = 400ms)보다 긴 지연은 rounds 만큼 슬롯을 지나친 뒤에 울려야 한다
+    @Test
+    void delaysLongerThanOneRotationWaitOutTheirRounds() throws Exception {
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(50, 8);
+        try {
+            long[] delays = {120, 450, 900, 1_700};
+            ConcurrentHashMap<Long, Long> firedAt = new ConcurrentHashMap<>();
+            CountDownLatch done = new CountDownLatch(delays.length);
+            long start = System.nanoTime();
+            for (long delay : delays) {
+                scheduler.schedule(delay, () -> {
+                    firedAt.put(delay, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    done.countDown();
+                });
+            }
+
+            assertTrue(done.await(5, TimeUnit.SECONDS), "타이머가 울리지 않았습니다.");
+            for (long delay : delays) {
+                long at = firedAt.get(delay);
+                assertTrue(at >= delay, delay + "ms 타이머가 " + at + "ms 에 먼저 울렸습니다.");
+                assertTrue(at < delay + 400, delay + "ms 타이머가 한 바퀴 넘게 늦게 울렸습니다 (" + at + "ms).");
+            }
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    // 작업 하나가 Error 를 던져도 워커는 살아서 다음 타이머를 돌린다
+    @Test
+    void failingTaskDoesNotStopOtherTimers() throws Exception {
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(10, 64);
+        try {
+            CountDownLatch after = new CountDownLatch(2);
+            scheduler.schedule(10, () -> {
+                throw new AssertionError("boom");
+            });
+            scheduler.schedule(10, () -> {
+                throw new IllegalStateException("boom");
+            });
+            scheduler.schedule(50, after::countDown);
+            scheduler.schedule(100, after::countDown);
+
+            assertTrue(after.await(5, TimeUnit.SECONDS), "실패한 작업 뒤의 타이머가 울리지 않았습니다.");
+            assertEquals(0, scheduler.pending());
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    private static int countCancelled(TimingWheelScheduler.Timeout[] timeouts) {
+        int n = 0;
+        for (TimingWheelScheduler.Timeout t : timeouts) {
+            if (t.isCancelled()) {
+                n++;
+            }
+        }
+        return n;
+    }
+}
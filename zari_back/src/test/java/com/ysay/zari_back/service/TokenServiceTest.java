@@ -0,0 +1,142 @@
+package com.ysay.zari_back.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysay.zari_back.entity.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenServiceTest {
+
+    private static final long TTL_MS = 60_000;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TimingWheelScheduler timingWheelScheduler;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        timingWheelScheduler = new TimingWheelScheduler(10, 64);
+        tokenService = tokenService("current-secret", "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        timingWheelScheduler.stop();
+    }
+
+    @Test
+    void issuedTokenVerifies() {
+        TokenService.Claims claims = tokenService.verify(tokenService.issue(7L, Role.USER));
+
+        assertNotNull(claims);
+        assertEquals(7L, claims.userId());
+        assertEquals(Role.USER, claims.role());
+    }
+
+    // 본문을 바꾸거나 서명을 바꾸면 둘 다 통과하지 못한다
+    @Test
+    void tamperedTokenIsRejected() {
+        String[] parts = tokenService.issue(7L, Role.USER).split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("\"sub\":\"7\"", "\"sub\":\"8\"")
+                .replace("\"role\":\"USER\"", "\"role\":\"OWNER\"");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        char last = parts[2].charAt(parts[2].length() - 1);
+        String forgedSignature = parts[2].substring(0, parts[2].length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        assertNull(tokenService.verify(parts[0] + "." + forgedPayload + "." + parts[2]));
+        assertNull(tokenService.verify(parts[0] + "." + parts[1] + "." + forgedSignature));
+        assertNull(tokenService.verify(parts[0] + "." + parts[1]));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        ReflectionTestUtils.setField(tokenService, "tokenTtlMs", -2_000L);
+
+        assertNull(tokenService.verify(tokenService.issue(7L, Role.USER)));
+    }
+
+    // 폐기하면 이 노드에서는 바로 막히고, 다른 노드가 읽을 수 있게 테이블에 쓴다
+    @Test
+    void revokedTokenIsRejectedAndStored() {
+        String token = tokenService.issue(7L, Role.USER);
+        TokenService.Claims claims = tokenService.verify(token);
+        List<String> closed = new ArrayList<>();
+        tokenService.onRevoked(closed::add);
+
+        tokenService.revoke(claims);
+
+        assertNull(tokenService.verify(token));
+        assertEquals(List.of(claims.jti()), closed);
+        verify(jdbcTemplate).update(startsWith("insert into revoked_token"),
+                eq(claims.jti()), eq(claims.expiresAt()), anyLong());
+    }
+
+    // 다른 노드에서 폐기한 토큰은 다음 동기화 때 막힌다
+    @Test
+    void revocationFromAnotherNodeIsAppliedOnSync() throws Exception {
+        String token = tokenService.issue(7L, Role.USER);
+        TokenService.Claims claims = tokenService.verify(token);
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString(1)).thenReturn(claims.jti());
+        when(row.getLong(2)).thenReturn(claims.expiresAt());
+        doAnswer(inv -> {
+            inv.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), anyLong(), anyLong());
+        List<String> closed = new ArrayList<>();
+        tokenService.onRevoked(closed::add);
+
+        tokenService.syncRevocations();
+
+        assertNull(tokenService.verify(token));
+        assertEquals(List.of(claims.jti()), closed);
+        assertEquals(1, tokenService.revokedCount());
+    }
+
+    // 키를 바꿔도 previous-secrets 에 남긴 키로 발급한 토큰은 통과하고, 모르는 키로 서명한 토큰은 막힌다
+    @Test
+    void previousSecretStillVerifiesAfterRotation() {
+        String oldToken = tokenService("old-secret", "").issue(7L, Role.USER);
+        String foreignToken = tokenService("foreign-secret", "").issue(7L, Role.USER);
+
+        TokenService rotated = tokenService("new-secret", "old-secret");
+
+        assertNotNull(rotated.verify(oldToken));
+        assertNotNull(rotated.verify(rotated.issue(7L, Role.USER)));
+        assertNull(rotated.verify(foreignToken));
+        assertNull(tokenService("new-secret", "").verify(oldToken));
+    }
+
+    private TokenService tokenService(String secret, String previousSecrets) {
+        TokenService service = new TokenService(secret, previousSecrets, objectMapper, timingWheelScheduler, jdbcTemplate);
+        ReflectionTestUtils.setField(service, "tokenTtlMs", TTL_MS);
+        return service;
+    }
+}
@@ -0,0 +1,122 @@
+package com.ysay.zari_back.service;
+
+import com.ysay.zari_back.dto.UserIdentityDto;
+import com.ysay.zari_back.dto.UserSignUpDto;
+import com.ysay.zari_back.entity.Role;
+import com.ysay.zari_back.entity.User;
+import com.ysay.zari_back.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private static final String EMAIL = "racer@zari.kr";
+    private static final String IN_USE = "이미 사용 중인 이메일입니다.";
+    private static final int THREADS = 8;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    // email unique 제약 흉내
+    private final Set<String> stored = ConcurrentHashMap.newKeySet();
+
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(passwordEncoder.matches("pw", "hash")).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(inv -> {
+            User user = inv.getArgument(0);
+            if (!stored.add(user.getEmail())) {
+                throw new DataIntegrityViolationException("duplicate email");
+            }
+            return user;
+        });
+
+        userService = new UserService(userRepository, passwordEncoder, new UserIdentityCache(userRepository, 100, 60));
+    }
+
+    // 같은 이메일로 동시에 가입하면 캐시가 못 막아도 한 명만 성공하고 나머지는 "이미 사용 중" 이다
+    @Test
+    void racingDuplicateSignupsAreReportedAsInUse() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger succeeded = new AtomicInteger();
+            List<String> errors = new ArrayList<>();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        userService.signup(signUp());
+                        succeeded.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        synchronized (errors) {
+                            errors.add(e.getMessage());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get();
+            }
+
+            assertEquals(1, succeeded.get());
+            assertEquals(THREADS - 1, errors.size());
+            errors.forEach(message -> assertEquals(IN_USE, message));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // 다른 노드에서 가입해 이 노드 캐시에 없는 이메일도 가입은 거절되고 로그인은 된다
+    @Test
+    void emailsThisNodeHasNotSeenStillHitTheDatabase() {
+        stored.add(EMAIL);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(User.builder()
+                .userId(1L)
+                .email(EMAIL)
+                .password("hash")
+                .nickname("racer")
+                .role(Role.USER)
+                .build()));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> userService.signup(signUp()));
+        assertEquals(IN_USE, e.getMessage());
+
+        UserIdentityDto user = userService.login(EMAIL, "pw");
+        assertEquals(1L, user.getUserId());
+    }
+
+    private static UserSignUpDto signUp() {
+        UserSignUpDto dto = new UserSignUpDto();
+        dto.setEmail(EMAIL);
+        dto.setPassword("pw");
+        dto.setNickname("racer");
+        dto.setRole(Role.USER);
+        return dto;
+    }
+}